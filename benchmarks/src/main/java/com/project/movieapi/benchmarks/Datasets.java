@@ -0,0 +1,83 @@
+package com.project.movieapi.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieRequestDTO;
+import com.project.movieapi.springbootrestapi.entity.Director;
+import com.project.movieapi.springbootrestapi.entity.Movie;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Fixed datasets: the bundled data/movies.json, repeated with numbered titles to reach the requested size
+final class Datasets {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final List<MovieRequestDTO> SAMPLE = loadSample();
+
+    private Datasets() {
+    }
+
+    static List<Director> directors() {
+        List<Director> directors = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            Director director = new Director();
+            director.setId(id);
+            director.setName("Director " + id);
+            directors.add(director);
+        }
+        return directors;
+    }
+
+    static List<MovieRequestDTO> movieRequests(int count) {
+        List<MovieRequestDTO> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MovieRequestDTO sample = SAMPLE.get(i % SAMPLE.size());
+            MovieRequestDTO dto = new MovieRequestDTO();
+            dto.setTitle(i < SAMPLE.size() ? sample.getTitle() : sample.getTitle() + " #" + (i / SAMPLE.size()));
+            dto.setYear(sample.getYear());
+            dto.setGenre(sample.getGenre());
+            dto.setDirectorId(sample.getDirectorId());
+            requests.add(dto);
+        }
+        return requests;
+    }
+
+    static List<Movie> movies(int count) {
+        List<Director> directors = directors();
+        List<MovieRequestDTO> requests = movieRequests(count);
+        List<Movie> movies = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MovieRequestDTO dto = requests.get(i);
+            Movie movie = new Movie();
+            movie.setId((long) i + 1);
+            movie.setTitle(dto.getTitle());
+            movie.setYear(dto.getYear());
+            movie.setGenre(dto.getGenre());
+            movie.setDirector(directors.get((int) (dto.getDirectorId() - 1)));
+            movies.add(movie);
+        }
+        return movies;
+    }
+
+    static byte[] moviesJson(int count) {
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(movieRequests(count));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<MovieRequestDTO> loadSample() {
+        try (InputStream in = Datasets.class.getClassLoader().getResourceAsStream("data/movies.json")) {
+            if (in == null) {
+                throw new IllegalStateException("data/movies.json not found on the classpath");
+            }
+            return Arrays.asList(OBJECT_MAPPER.readValue(in, MovieRequestDTO[].class));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
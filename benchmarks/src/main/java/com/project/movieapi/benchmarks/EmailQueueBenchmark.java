@@ -0,0 +1,114 @@
+package com.project.movieapi.benchmarks;
+
+import com.project.movieapi.springbootrestapi.config.RabbitConfig;
+import com.project.movieapi.springbootrestapi.dto.email.EmailMessageDto;
+import com.project.movieapi.springbootrestapi.service.EmailNotificationPublisher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Publish throughput into the durable email_queue against a real broker (RABBIT_HOST, default localhost,
+// e.g. the rabbitmq service from email-service/docker-compose.yml). Scores are messages per second.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@OperationsPerInvocation(EmailQueueBenchmark.BATCH_SIZE)
+public class EmailQueueBenchmark {
+
+    static final int BATCH_SIZE = 100;
+
+    @Param({"1", "10", "100"})
+    private int confirmEvery;
+
+    private CachingConnectionFactory plainConnectionFactory;
+    private CachingConnectionFactory confirmingConnectionFactory;
+    private RabbitTemplate plainTemplate;
+    private EmailNotificationPublisher publisher;
+    private RabbitAdmin admin;
+    private List<List<EmailMessageDto>> chunks;
+
+    @Setup
+    public void setup() {
+        String host = System.getenv().getOrDefault("RABBIT_HOST", "localhost");
+        plainConnectionFactory = new CachingConnectionFactory(host);
+        confirmingConnectionFactory = new CachingConnectionFactory(host);
+        confirmingConnectionFactory.setPublisherConfirmType(CachingConnectionFactory.ConfirmType.SIMPLE);
+
+        admin = new RabbitAdmin(plainConnectionFactory);
+        try {
+            admin.declareQueue(new RabbitConfig().emailQueue());
+        } catch (AmqpConnectException e) {
+            throw new IllegalStateException("No RabbitMQ broker at " + host + ":5672, start one with "
+                    + "'docker compose up rabbitmq' in email-service or set RABBIT_HOST", e);
+        }
+
+        plainTemplate = new RabbitTemplate(plainConnectionFactory);
+        plainTemplate.setMessageConverter(new JacksonJsonMessageConverter());
+        RabbitTemplate confirmingTemplate = new RabbitTemplate(confirmingConnectionFactory);
+        confirmingTemplate.setMessageConverter(new JacksonJsonMessageConverter());
+        publisher = new EmailNotificationPublisher(confirmingTemplate, Duration.ofSeconds(30));
+
+        List<EmailMessageDto> messages = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            messages.add(new EmailMessageDto("admin@movieapi.com", "New Movie Created",
+                    "A new movie has been added to the catalog: Inception " + i + " (2010) by Christopher Nolan"));
+        }
+        chunks = new ArrayList<>();
+        for (int from = 0; from < BATCH_SIZE; from += confirmEvery) {
+            chunks.add(messages.subList(from, Math.min(from + confirmEvery, BATCH_SIZE)));
+        }
+    }
+
+    // Keeps the queue from growing across iterations; nothing else should be consuming from it during the run
+    @TearDown(Level.Iteration)
+    public void purge() {
+        admin.purgeQueue(RabbitConfig.EMAIL_QUEUE, false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        plainConnectionFactory.destroy();
+        confirmingConnectionFactory.destroy();
+    }
+
+    @Benchmark
+    public void publishWithConfirms() {
+        for (List<EmailMessageDto> chunk : chunks) {
+            publisher.publishAll(chunk);
+        }
+    }
+
+    // Baseline without confirms: fastest, but a message lost by the broker goes unnoticed
+    @Benchmark
+    public void publishWithoutConfirms() {
+        for (List<EmailMessageDto> chunk : chunks) {
+            for (EmailMessageDto message : chunk) {
+                plainTemplate.convertAndSend(RabbitConfig.EMAIL_QUEUE, message);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.project.movieapi.benchmarks;
+
+import com.project.movieapi.emailservice.model.EmailLog;
+import com.project.movieapi.emailservice.repository.EmailLogRepository;
+import com.project.movieapi.emailservice.scheduler.RetryPolicy;
+import com.project.movieapi.emailservice.sender.MailDispatcher;
+import com.project.movieapi.emailservice.sender.SmtpConnectionPool;
+import com.project.movieapi.emailservice.service.EmailSenderService;
+import com.project.movieapi.emailservice.service.RetryPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.project.movieapi.benchmarks.Stubs.firstArgument;
+import static com.project.movieapi.benchmarks.Stubs.nothing;
+
+// Message construction, the hand-off to the sender pool and status bookkeeping in trySend; SMTP and Elasticsearch are stubbed out
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EmailSenderBenchmark {
+
+    private MailDispatcher mailDispatcher;
+    private EmailSenderService emailSenderService;
+    private EmailLog emailLog;
+    private Blackhole blackhole;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        SmtpConnectionPool connectionPool = new SmtpConnectionPool(new JavaMailSenderImpl(), meterRegistry, 4) {
+            @Override
+            public void send(SimpleMailMessage message) {
+                EmailSenderBenchmark.this.blackhole.consume(message);
+            }
+        };
+        mailDispatcher = new MailDispatcher(connectionPool, meterRegistry, 4, 1000, 0, 1, 4);
+        EmailLogRepository repository = Stubs.of(EmailLogRepository.class, Map.of("insert", firstArgument(), "updateStatus", nothing()));
+        RetryPolicy retryPolicy = new RetryPolicy(10, List.of(Duration.ofSeconds(30)));
+        // Only used for failed sends, which this benchmark never produces
+        RetryPublisher retryPublisher = new RetryPublisher(new RabbitTemplate(), retryPolicy);
+        emailSenderService = new EmailSenderService(mailDispatcher, repository, retryPolicy, retryPublisher);
+
+        emailLog = new EmailLog();
+        emailLog.setId("benchmark");
+        emailLog.setRecipient("admin@movieapi.com");
+        emailLog.setSubject("New Movie Created");
+        emailLog.setContent("A new movie has been added to the catalog: Inception (2010) by Christopher Nolan");
+        emailLog.setStatus("PENDING");
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        mailDispatcher.destroy();
+    }
+
+    @Benchmark
+    public EmailLog trySend() {
+        emailSenderService.trySend(emailLog).join();
+        return emailLog;
+    }
+}
@@ -0,0 +1,114 @@
+package com.project.movieapi.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.movieapi.springbootrestapi.config.UploadConfig;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieUploadResponseDTO;
+import com.project.movieapi.springbootrestapi.entity.Director;
+import com.project.movieapi.springbootrestapi.entity.Movie;
+import com.project.movieapi.springbootrestapi.repository.DirectorRepository;
+import com.project.movieapi.springbootrestapi.repository.MovieRepository;
+import com.project.movieapi.springbootrestapi.repository.OutboxMessageRepository;
+import com.project.movieapi.springbootrestapi.service.MovieImportService;
+import com.project.movieapi.springbootrestapi.service.MovieSearchIndex;
+import com.project.movieapi.springbootrestapi.service.NotificationOutbox;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.project.movieapi.benchmarks.Stubs.firstArgument;
+import static com.project.movieapi.benchmarks.Stubs.nothing;
+import static com.project.movieapi.benchmarks.Stubs.returning;
+
+// Streaming parse, bean validation and chunking of an upload; the database is stubbed out
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class MovieImportBenchmark {
+
+    @Param({"60", "100000"})
+    private int rows;
+
+    @Param({"1", "4"})
+    private int validationWorkers;
+
+    private byte[] json;
+    private MovieImportService importService;
+    private ThreadPoolTaskExecutor stageExecutor;
+
+    @Setup
+    public void setup() {
+        json = Datasets.moviesJson(rows);
+
+        List<Director> directors = Datasets.directors();
+        AtomicLong ids = new AtomicLong();
+        MovieRepository movieRepository = Stubs.of(MovieRepository.class, Map.of(
+                "saveAll", args -> {
+                    @SuppressWarnings("unchecked")
+                    List<Movie> movies = (List<Movie>) args[0];
+                    movies.forEach(movie -> movie.setId(ids.incrementAndGet()));
+                    return movies;
+                },
+                "save", firstArgument()
+        ));
+        DirectorRepository directorRepository = Stubs.of(DirectorRepository.class, Map.of(
+                "findAllById", returning(directors),
+                "getReferenceById", args -> directors.get((int) ((Long) args[0] - 1))
+        ));
+        EntityManager entityManager = Stubs.of(EntityManager.class, Map.of(
+                "flush", nothing(),
+                "clear", nothing()
+        ));
+        PlatformTransactionManager transactionManager = Stubs.of(PlatformTransactionManager.class, Map.of(
+                "getTransaction", args -> new SimpleTransactionStatus(),
+                "commit", nothing(),
+                "rollback", nothing()
+        ));
+
+        NotificationOutbox notificationOutbox = new NotificationOutbox(Stubs.of(OutboxMessageRepository.class, Map.of(
+                "saveAll", firstArgument(),
+                "save", firstArgument()
+        )), "admin@movieapi.com");
+
+        stageExecutor = new UploadConfig().uploadStageExecutor(validationWorkers, 1);
+        stageExecutor.initialize();
+        importService = new MovieImportService(movieRepository, directorRepository, new ObjectMapper(),
+                entityManager, new MovieSearchIndex(movieRepository, transactionManager), notificationOutbox,
+                new NoOpCacheManager(), Validation.buildDefaultValidatorFactory().getValidator(), transactionManager,
+                stageExecutor,
+                500, 1000, validationWorkers, 1000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        stageExecutor.shutdown();
+    }
+
+    @Benchmark
+    public MovieUploadResponseDTO importMovies() {
+        return importService.importMovies(new ByteArrayInputStream(json));
+    }
+}
@@ -0,0 +1,54 @@
+package com.project.movieapi.benchmarks;
+
+import com.project.movieapi.springbootrestapi.dto.movie.MovieSearchResultDTO;
+import com.project.movieapi.springbootrestapi.entity.Movie;
+import com.project.movieapi.springbootrestapi.repository.MovieRepository;
+import com.project.movieapi.springbootrestapi.service.MovieSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Type-ahead queries against the title index: a short prefix, a two-word prefix and a typo
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MovieSearchBenchmark {
+
+    @Param({"60", "100000"})
+    private int rows;
+
+    @Param({"in", "the dar", "intersteller"})
+    private String query;
+
+    private MovieSearchIndex searchIndex;
+
+    @Setup
+    public void setup() {
+        searchIndex = new MovieSearchIndex(Stubs.of(MovieRepository.class, Map.of()),
+                Stubs.of(PlatformTransactionManager.class, Map.of()));
+        for (Movie movie : Datasets.movies(rows)) {
+            searchIndex.index(movie);
+        }
+    }
+
+    @Benchmark
+    public List<MovieSearchResultDTO> search() {
+        return searchIndex.search(query, 10);
+    }
+}
@@ -0,0 +1,118 @@
+package com.project.movieapi.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieListRequestDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieListResponseDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieResponseDTO;
+import com.project.movieapi.springbootrestapi.entity.Movie;
+import com.project.movieapi.springbootrestapi.repository.DirectorRepository;
+import com.project.movieapi.springbootrestapi.repository.MovieRepository;
+import com.project.movieapi.springbootrestapi.repository.OutboxMessageRepository;
+import com.project.movieapi.springbootrestapi.service.MovieSearchIndex;
+import com.project.movieapi.springbootrestapi.service.NotificationOutbox;
+import com.project.movieapi.springbootrestapi.service.MovieService;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.project.movieapi.benchmarks.Stubs.nothing;
+import static com.project.movieapi.benchmarks.Stubs.returning;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MovieServiceBenchmark {
+
+    // 60 is data/movies.json as shipped
+    @Param({"60", "10000"})
+    private int rows;
+
+    private MovieService movieService;
+    private MovieListRequestDTO pageRequest;
+    private MovieListRequestDTO sliceRequest;
+    private MovieListRequestDTO reportRequest;
+
+    @Setup
+    public void setup() {
+        List<Movie> movies = Datasets.movies(rows);
+        MovieRepository movieRepository = Stubs.of(MovieRepository.class, Map.of(
+                "findAllWithDirector", returning(movies),
+                "findAllWithFilters", args -> {
+                    Pageable pageable = (Pageable) args[3];
+                    return new PageImpl<>(firstPage(movies, pageable), pageable, movies.size());
+                },
+                "findSliceWithFilters", args -> {
+                    Pageable pageable = (Pageable) args[4];
+                    return new SliceImpl<>(firstPage(movies, pageable), pageable, movies.size() > pageable.getPageSize());
+                },
+                "streamAllWithFilters", args -> movies.stream()
+        ));
+        movieService = new MovieService(movieRepository,
+                Stubs.of(DirectorRepository.class, Map.of()),
+                Stubs.of(EntityManager.class, Map.of("clear", nothing())),
+                new MovieSearchIndex(movieRepository, Stubs.of(PlatformTransactionManager.class, Map.of())),
+                new NotificationOutbox(Stubs.of(OutboxMessageRepository.class, Map.of()), "admin@movieapi.com"),
+                new ObjectMapper(),
+                new NoOpCacheManager());
+
+        pageRequest = new MovieListRequestDTO();
+        pageRequest.setSize(50);
+        sliceRequest = new MovieListRequestDTO();
+        sliceRequest.setSize(50);
+        sliceRequest.setIncludeTotal(false);
+        reportRequest = new MovieListRequestDTO();
+    }
+
+    private static List<Movie> firstPage(List<Movie> movies, Pageable pageable) {
+        return movies.subList(0, Math.min(pageable.getPageSize(), movies.size()));
+    }
+
+    @Benchmark
+    public List<MovieResponseDTO> mapAllToResponseDTO() {
+        return movieService.getAll();
+    }
+
+    @Benchmark
+    public MovieListResponseDTO listPage() {
+        return movieService.list(pageRequest);
+    }
+
+    @Benchmark
+    public MovieListResponseDTO listSliceWithCursor() {
+        return movieService.list(sliceRequest);
+    }
+
+    @Benchmark
+    public void writeCsvReport() throws IOException {
+        movieService.writeReport(reportRequest, OutputStream.nullOutputStream());
+    }
+
+    // Against mapAllToResponseDTO: the streamed variant never holds more than one DTO
+    @Benchmark
+    public void writeNdjson() throws IOException {
+        movieService.writeNdjson(OutputStream.nullOutputStream());
+    }
+}
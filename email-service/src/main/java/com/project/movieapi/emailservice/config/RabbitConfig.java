@@ -1,21 +1,68 @@
 package com.project.movieapi.emailservice.config;
 
+import com.project.movieapi.emailservice.scheduler.RetryPolicy;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.amqp.autoconfigure.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Configuration
 public class RabbitConfig {
 
+    // Must match the declaration in spring-boot-rest-api, otherwise whichever service starts second fails to declare it
     @Bean
     public Queue emailQueue() {
-        return new Queue("email_queue", false);
+        return QueueBuilder.durable("email_queue").quorum().build();
+    }
+
+    public static String retryQueueName(Duration delay) {
+        return "email_queue.retry." + delay.toSeconds() + "s";
+    }
+
+    // One queue per delay tier: a message sits there for the tier's TTL and is then dead-lettered back into email_queue
+    @Bean
+    public Declarables retryQueues(RetryPolicy retryPolicy) {
+        return new Declarables(retryPolicy.delayTiers().stream()
+                .map(delay -> QueueBuilder.durable(retryQueueName(delay))
+                        .ttl((int) delay.toMillis())
+                        .deadLetterExchange("")
+                        .deadLetterRoutingKey("email_queue")
+                        .build())
+                .toList());
     }
 
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new JacksonJsonMessageConverter();
     }
+
+    // Hands the listener up to 'size' messages at once, or whatever arrived within 'receive-timeout'
+    @Bean
+    @ConditionalOnProperty(name = "email.batch.enabled", havingValue = "true")
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory,
+            @Value("${email.batch.size:50}") int batchSize,
+            @Value("${email.batch.receive-timeout:1000}") long receiveTimeout,
+            @Value("${spring.rabbitmq.listener.simple.prefetch:250}") int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeout);
+        // A batch can only fill up to the prefetch
+        factory.setPrefetchCount(Math.max(batchSize, prefetch));
+        return factory;
+    }
 }
\ No newline at end of file
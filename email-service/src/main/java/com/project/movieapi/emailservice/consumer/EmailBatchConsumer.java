@@ -0,0 +1,117 @@
+package com.project.movieapi.emailservice.consumer;
+
+import com.project.movieapi.emailservice.digest.EmailDigest;
+import com.project.movieapi.emailservice.dto.EmailRequestDto;
+import com.project.movieapi.emailservice.service.EmailSenderService;
+import com.project.movieapi.emailservice.service.RetryPublisher;
+import com.rabbitmq.client.Channel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "email.batch.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class EmailBatchConsumer {
+
+    private final EmailSenderService emailService;
+    private final EmailDigest emailDigest;
+
+    // The whole batch is acked with one multiple-ack after its logs are written; in digest mode the logs are only
+    // buffered once that bulk write has succeeded, so a requeued batch is never in the digest too. If it fails, the
+    // messages are handled one by one: the ones that fail on their own are rejected, so a single bad message cannot
+    // send the batch around forever, and the rest are acked. Only when none of them gets through (Elasticsearch is
+    // down) is the batch requeued as a whole.
+    @RabbitListener(queues = "email_queue", containerFactory = "batchListenerContainerFactory")
+    public void consumeMessages(List<Message<EmailRequestDto>> messages, Channel channel) throws IOException {
+        List<Message<EmailRequestDto>> batched = new ArrayList<>(messages.size());
+        List<Message<EmailRequestDto>> failed = new ArrayList<>();
+        RuntimeException failure = null;
+        for (Message<EmailRequestDto> message : messages) {
+            if (isRetry(message)) {
+                try {
+                    handle(message);
+                } catch (RuntimeException e) {
+                    failed.add(message);
+                    failure = e;
+                }
+            } else {
+                batched.add(message);
+            }
+        }
+
+        if (!batched.isEmpty()) {
+            try {
+                List<EmailRequestDto> requests = batched.stream().map(Message::getPayload).toList();
+                if (emailDigest.isEnabled()) {
+                    emailDigest.offerAll(emailService.recordAll(requests));
+                } else {
+                    emailService.processBatch(requests);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Batch of {} emails failed, processing them one by one: {}", batched.size(), e.getMessage());
+                for (Message<EmailRequestDto> message : batched) {
+                    try {
+                        handle(message);
+                    } catch (RuntimeException single) {
+                        failed.add(message);
+                        failure = single;
+                    }
+                }
+            }
+        }
+        if (failed.size() == messages.size()) {
+            channel.basicNack(lastDeliveryTag(messages), true, true);
+            throw failure;
+        }
+        settle(messages, failed, channel);
+    }
+
+    private void handle(Message<EmailRequestDto> message) {
+        if (isRetry(message)) {
+            emailService.retry(message.getHeaders().get(RetryPublisher.LOG_ID_HEADER, String.class),
+                    message.getHeaders().get(RetryPublisher.ATTEMPT_HEADER, Integer.class));
+        } else if (!emailDigest.offer(message.getPayload())) {
+            EmailRequestDto request = message.getPayload();
+            emailService.processEmail(request.getRecipient(), request.getSubject(), request.getBody());
+        }
+    }
+
+    private boolean isRetry(Message<EmailRequestDto> message) {
+        return message.getHeaders().get(RetryPublisher.LOG_ID_HEADER) != null
+                && message.getHeaders().get(RetryPublisher.ATTEMPT_HEADER) != null;
+    }
+
+    private void settle(List<Message<EmailRequestDto>> messages, List<Message<EmailRequestDto>> failed,
+                        Channel channel) throws IOException {
+        for (Message<EmailRequestDto> message : failed) {
+            log.error("Rejecting email to {} that failed on its own", message.getPayload().getRecipient());
+            channel.basicReject(deliveryTag(message), false);
+        }
+        List<Message<EmailRequestDto>> handled = new ArrayList<>(messages);
+        handled.removeAll(failed);
+        // Rejected tags below this one are already settled, so the multiple-ack only covers the handled messages
+        channel.basicAck(lastDeliveryTag(handled), true);
+    }
+
+    private static long lastDeliveryTag(List<Message<EmailRequestDto>> messages) {
+        long lastDeliveryTag = 0;
+        for (Message<EmailRequestDto> message : messages) {
+            lastDeliveryTag = Math.max(lastDeliveryTag, deliveryTag(message));
+        }
+        return lastDeliveryTag;
+    }
+
+    private static long deliveryTag(Message<EmailRequestDto> message) {
+        return message.getHeaders().get(AmqpHeaders.DELIVERY_TAG, Long.class);
+    }
+}
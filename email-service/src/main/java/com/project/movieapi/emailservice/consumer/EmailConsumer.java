@@ -1,19 +1,45 @@
 package com.project.movieapi.emailservice.consumer;
 
+import com.project.movieapi.emailservice.digest.EmailDigest;
 import com.project.movieapi.emailservice.dto.EmailRequestDto;
 import com.project.movieapi.emailservice.service.EmailSenderService;
+import com.project.movieapi.emailservice.service.RetryPublisher;
+import com.rabbitmq.client.Channel;
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+
 @Component
+@ConditionalOnProperty(name = "email.batch.enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 public class EmailConsumer {
 
     private final EmailSenderService emailService;
+    private final EmailDigest emailDigest;
 
+    // Acked once the email log is in Elasticsearch; from there the retry path owns the email, not the broker.
+    // In digest mode the message is acked once its PENDING log is written and it is buffered.
     @RabbitListener(queues = "email_queue")
-    public void consumeMessage(EmailRequestDto message) {
-        emailService.processEmail(message.getRecipient(), message.getSubject(), message.getBody());
+    public void consumeMessage(EmailRequestDto message,
+                               @Header(name = RetryPublisher.LOG_ID_HEADER, required = false) String logId,
+                               @Header(name = RetryPublisher.ATTEMPT_HEADER, required = false) Integer attemptCount,
+                               Channel channel,
+                               @Header(AmqpHeaders.DELIVERY_TAG) long deliveryTag) throws IOException {
+        try {
+            if (logId != null && attemptCount != null) {
+                emailService.retry(logId, attemptCount);
+            } else if (!emailDigest.offer(message)) {
+                emailService.processEmail(message.getRecipient(), message.getSubject(), message.getBody());
+            }
+        } catch (RuntimeException e) {
+            channel.basicNack(deliveryTag, false, true);
+            throw e;
+        }
+        channel.basicAck(deliveryTag, false);
     }
 }
\ No newline at end of file
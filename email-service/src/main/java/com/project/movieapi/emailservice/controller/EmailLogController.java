@@ -0,0 +1,44 @@
+package com.project.movieapi.emailservice.controller;
+
+import com.project.movieapi.emailservice.dto.EmailLogListResponseDto;
+import com.project.movieapi.emailservice.dto.EmailLogStatsDto;
+import com.project.movieapi.emailservice.service.EmailLogSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/email-logs")
+@RequiredArgsConstructor
+public class EmailLogController {
+
+    private final EmailLogSearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<EmailLogListResponseDto> search(
+            @RequestParam(required = false) String recipient,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(searchService.search(recipient, status, from, to, size, after));
+    }
+
+    // Defaults to the last 24 hours
+    @GetMapping("/_stats")
+    public ResponseEntity<EmailLogStatsDto> stats(
+            @RequestParam(required = false) String recipient,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "10") int topErrors) {
+        LocalDateTime since = from != null ? from : LocalDateTime.now().minusHours(24);
+        return ResponseEntity.ok(searchService.stats(recipient, since, to, topErrors));
+    }
+}
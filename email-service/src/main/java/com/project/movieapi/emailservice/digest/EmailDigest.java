@@ -0,0 +1,188 @@
+package com.project.movieapi.emailservice.digest;
+
+import com.project.movieapi.emailservice.dto.EmailRequestDto;
+import com.project.movieapi.emailservice.model.EmailLog;
+import com.project.movieapi.emailservice.service.EmailSenderService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Coalesces messages for the same recipient into one email. A recipient's digest is sent once its first message is
+// 'window' old or it holds 'max-messages'; when 'max-buffered' messages are held in total, the largest digest goes early.
+// Every message has a PENDING log before it is buffered, so the retry job still sends it if the service dies first.
+@Component
+@Slf4j
+public class EmailDigest implements DisposableBean {
+
+    private final EmailSenderService emailService;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Duration window;
+    private final int maxMessages;
+    private final int maxBuffered;
+    private final int maxListed;
+    private final Map<String, Pending> pending = new LinkedHashMap<>();
+    private final Counter messagesIn;
+    private final Counter emailsOut;
+    private int buffered;
+
+    @Autowired
+    public EmailDigest(EmailSenderService emailService,
+                       MeterRegistry meterRegistry,
+                       @Value("${email.digest.enabled:false}") boolean enabled,
+                       @Value("${email.digest.window:60s}") Duration window,
+                       @Value("${email.digest.max-messages:1000}") int maxMessages,
+                       @Value("${email.digest.max-buffered:10000}") int maxBuffered,
+                       @Value("${email.digest.max-listed:100}") int maxListed) {
+        this(emailService, meterRegistry, Clock.systemUTC(), enabled, window, maxMessages, maxBuffered, maxListed);
+    }
+
+    EmailDigest(EmailSenderService emailService, MeterRegistry meterRegistry, Clock clock, boolean enabled,
+                Duration window, int maxMessages, int maxBuffered, int maxListed) {
+        this.emailService = emailService;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.window = window;
+        this.maxMessages = maxMessages;
+        this.maxBuffered = maxBuffered;
+        this.maxListed = maxListed;
+        this.messagesIn = Counter.builder("email.digest.messages").register(meterRegistry);
+        this.emailsOut = Counter.builder("email.digest.emails").register(meterRegistry);
+        Gauge.builder("email.digest.coalescing.ratio", this,
+                d -> d.emailsOut.count() == 0 ? 0 : d.messagesIn.count() / d.emailsOut.count()).register(meterRegistry);
+        Gauge.builder("email.digest.buffered", this, EmailDigest::buffered).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Returns false when digest mode is off and the caller has to send the message itself
+    public boolean offer(EmailRequestDto message) {
+        if (!enabled) {
+            return false;
+        }
+        offerAll(List.of(emailService.record(message)));
+        return true;
+    }
+
+    // Takes logs that are already written, e.g. by one bulk request for a whole batch
+    public void offerAll(List<EmailLog> emailLogs) {
+        List<Pending> ready = new ArrayList<>(1);
+        synchronized (this) {
+            for (EmailLog emailLog : emailLogs) {
+                Pending digest = pending.computeIfAbsent(emailLog.getRecipient(), r -> new Pending(r, clock.instant()));
+                digest.messages.add(emailLog);
+                buffered++;
+                if (digest.messages.size() >= maxMessages) {
+                    ready.add(take(digest.recipient));
+                } else if (buffered >= maxBuffered) {
+                    Pending largest = pending.values().stream()
+                            .max(Comparator.comparingInt(p -> p.messages.size()))
+                            .orElseThrow();
+                    ready.add(take(largest.recipient));
+                }
+            }
+        }
+        messagesIn.increment(emailLogs.size());
+        ready.forEach(this::send);
+    }
+
+    @Scheduled(fixedDelayString = "${email.digest.flush-interval:1000}")
+    public void flushDue() {
+        Instant cutoff = clock.instant().minus(window);
+        List<Pending> ready = new ArrayList<>();
+        synchronized (this) {
+            for (Pending digest : List.copyOf(pending.values())) {
+                if (!digest.firstAt.isAfter(cutoff)) {
+                    ready.add(take(digest.recipient));
+                }
+            }
+        }
+        ready.forEach(this::send);
+    }
+
+    synchronized int buffered() {
+        return buffered;
+    }
+
+    private Pending take(String recipient) {
+        Pending digest = pending.remove(recipient);
+        buffered -= digest.messages.size();
+        return digest;
+    }
+
+    // A failed digest is not kept here: its logs become FAILED and go through the usual backoff one by one. If even
+    // that status update fails, the logs stay PENDING and the retry job's stranded-log scan picks them up.
+    private void send(Pending digest) {
+        emailService.sendDigest(digest.recipient, subjectOf(digest.messages), bodyOf(digest.messages), digest.messages)
+                .exceptionally(e -> {
+                    log.error("Failed to record digest outcome for {} ({} messages): {}",
+                            digest.recipient, digest.messages.size(), e.getMessage());
+                    return null;
+                });
+        emailsOut.increment();
+    }
+
+    private String subjectOf(List<EmailLog> messages) {
+        if (messages.size() == 1) {
+            return messages.get(0).getSubject();
+        }
+        return messages.stream().map(EmailLog::getSubject).distinct().count() == 1
+                ? messages.get(0).getSubject() + " (" + messages.size() + ")"
+                : messages.size() + " notifications";
+    }
+
+    private String bodyOf(List<EmailLog> messages) {
+
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < Math.min(messages.size(), maxListed); i++) {
+            if (i > 0) {
+                body.append("\n\n");
+            }
+            body.append(messages.get(i).getContent());
+        }
+        if (messages.size() > maxListed) {
+            body.append("\n\n...and ").append(messages.size() - maxListed).append(" more.");
+        }
+        return body.toString();
+    }
+
+    // Sends whatever is still buffered instead of dropping it on shutdown
+    @Override
+    public void destroy() {
+        List<Pending> ready;
+        synchronized (this) {
+            ready = new ArrayList<>(pending.values());
+            pending.clear();
+            buffered = 0;
+        }
+        ready.forEach(this::send);
+    }
+
+    private static class Pending {
+        private final String recipient;
+        private final Instant firstAt;
+        private final List<EmailLog> messages = new ArrayList<>();
+
+        private Pending(String recipient, Instant firstAt) {
+            this.recipient = recipient;
+            this.firstAt = firstAt;
+        }
+    }
+}
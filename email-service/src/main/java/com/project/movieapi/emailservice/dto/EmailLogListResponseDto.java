@@ -0,0 +1,18 @@
+package com.project.movieapi.emailservice.dto;
+
+import com.project.movieapi.emailservice.model.EmailLog;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmailLogListResponseDto {
+    // Logs without their content, newest first
+    private List<EmailLog> list;
+    // Pass as 'after' to get the next page; null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,37 @@
+package com.project.movieapi.emailservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmailLogStatsDto {
+    private long total;
+    private List<HourlyCount> hourly;
+    private List<ErrorCount> topErrors;
+    // Null when no log matched
+    private Double p95Attempts;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class HourlyCount {
+        private LocalDateTime hour;
+        // Log count per status (SENT, FAILED, ...) for logs created in that hour
+        private Map<String, Long> statuses;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ErrorCount {
+        private String errorMessage;
+        private long count;
+    }
+}
@@ -5,13 +5,20 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.elasticsearch.annotations.Document;
 import org.springframework.data.elasticsearch.annotations.Field;
 import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.annotations.Setting;
 
 import java.time.LocalDateTime;
 
 @Data
-@Document(indexName = "email_logs")
+// Reads go through the email-logs alias; writes go to the daily or weekly index picked by EmailLogIndex from createdAt
+@Document(indexName = EmailLog.ALIAS, createIndex = false)
+@Setting(shards = 1, replicas = 1, refreshInterval = "5s")
 public class EmailLog {
+    public static final String ALIAS = "email-logs";
+
+    // Also mapped as a field so it can break ties when paging with search_after
     @Id
+    @Field(type = FieldType.Keyword)
     private String id;
 
     @Field(type = FieldType.Keyword)
@@ -20,18 +27,25 @@ public class EmailLog {
     @Field(type = FieldType.Text)
     private String subject;
 
-    @Field(type = FieldType.Text)
+    // Kept in _source only: never searched, so not worth the analysis and the heap
+    @Field(type = FieldType.Keyword, index = false, docValues = false)
     private String content;
 
     @Field(type = FieldType.Keyword)
     private String status;
 
-    @Field(type = FieldType.Text)
+    @Field(type = FieldType.Keyword, ignoreAbove = 512)
     private String errorMessage;
 
     @Field(type = FieldType.Integer)
     private int attemptCount;
 
+    @Field(type = FieldType.Date, format = {}, pattern = "uuuu-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime createdAt;
+
     @Field(type = FieldType.Date, format = {}, pattern = "uuuu-MM-dd'T'HH:mm:ss.SSS")
     private LocalDateTime lastAttemptTime;
+
+    @Field(type = FieldType.Date, format = {}, pattern = "uuuu-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime nextAttemptTime;
 }
\ No newline at end of file
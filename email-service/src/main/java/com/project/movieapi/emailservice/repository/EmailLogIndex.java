@@ -0,0 +1,183 @@
+package com.project.movieapi.emailservice.repository;
+
+import com.project.movieapi.emailservice.model.EmailLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexInformation;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.index.PutIndexTemplateRequest;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.reindex.ReindexRequest;
+import org.springframework.data.elasticsearch.core.reindex.ReindexResponse;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+// Email logs live in one index per day (or week), named after the period start: email-logs-2026.10.17.
+// An index template gives every new index the EmailLog mapping and the email-logs alias that all reads go through,
+// and the retention job drops whole indices once their period is older than email.logs.retention.
+// Logs from the old single email_logs index are reindexed into the rolling indices once, in the background after startup.
+@Component
+@Slf4j
+public class EmailLogIndex implements SmartInitializingSingleton {
+
+    static final String PREFIX = EmailLog.ALIAS + "-";
+    static final String LEGACY_INDEX = "email_logs";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("uuuu.MM.dd");
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSS");
+
+    private final ElasticsearchOperations operations;
+    private final Clock clock;
+    private final boolean weekly;
+    private final Duration retention;
+    private volatile boolean templateReady;
+
+    @Autowired
+    public EmailLogIndex(ElasticsearchOperations operations,
+                         @Value("${email.logs.rollover:daily}") String rollover,
+                         @Value("${email.logs.retention:30d}") Duration retention) {
+        this(operations, Clock.systemDefaultZone(), rollover, retention);
+    }
+
+    EmailLogIndex(ElasticsearchOperations operations, Clock clock, String rollover, Duration retention) {
+        this.operations = operations;
+        this.clock = clock;
+        this.weekly = switch (rollover.toLowerCase(Locale.ROOT)) {
+            case "daily" -> false;
+            case "weekly" -> true;
+            default -> throw new IllegalArgumentException("email.logs.rollover must be daily or weekly, got: " + rollover);
+        };
+        this.retention = retention;
+    }
+
+    // Runs before the listener containers start, so the first index created by a write already has the mapping.
+    // The legacy reindex can take as long as the old index is big, so it must not hold up startup.
+    @Override
+    public void afterSingletonsInstantiated() {
+        putTemplate();
+        if (templateReady) {
+            Thread migration = new Thread(this::migrateLegacyIndex, "email-log-reindex");
+            migration.setDaemon(true);
+            migration.start();
+        }
+    }
+
+    public IndexCoordinates indexFor(LocalDateTime createdAt) {
+        return IndexCoordinates.of(PREFIX + periodStart(createdAt.toLocalDate()).format(SUFFIX));
+    }
+
+    // The index a new log is written to; retries the template if Elasticsearch was down at startup
+    public IndexCoordinates writeIndexFor(LocalDateTime createdAt) {
+        if (!templateReady) {
+            putTemplate();
+        }
+        return indexFor(createdAt);
+    }
+
+    @Scheduled(cron = "${email.logs.retention-cron:0 30 3 * * *}")
+    public void dropExpiredIndices() {
+        LocalDate cutoff = LocalDateTime.now(clock).minus(retention).toLocalDate();
+        for (IndexInformation index : operations.indexOps(IndexCoordinates.of(PREFIX + "*")).getInformation()) {
+            LocalDate start = parsePeriodStart(index.getName());
+            if (start != null && !start.plusDays(weekly ? 7 : 1).isAfter(cutoff)) {
+                log.info("Dropping email log index {}", index.getName());
+                operations.indexOps(IndexCoordinates.of(index.getName())).delete();
+            }
+        }
+    }
+
+    // Routes every legacy log to the index its createdAt would pick (falling back to lastAttemptTime, as the old
+    // logs have no createdAt, then to now) and copies _id into the id field. Existing documents are never overwritten, so an
+    // interrupted run can simply be repeated; the old index is only deleted once every document was copied.
+    void migrateLegacyIndex() {
+        try {
+            IndexOperations legacy = operations.indexOps(IndexCoordinates.of(LEGACY_INDEX));
+            if (!legacy.exists()) {
+                return;
+            }
+            ReindexResponse response = operations.reindex(ReindexRequest
+                    .builder(IndexCoordinates.of(LEGACY_INDEX), indexFor(LocalDateTime.now(clock)))
+                    .withScript(legacyRoutingScript(LocalDateTime.now(clock)), "painless")
+                    .withDestOpType(IndexQuery.OpType.CREATE)
+                    .withConflicts(ReindexRequest.Conflicts.PROCEED)
+                    .build());
+            if (!response.getFailures().isEmpty() || response.isTimedOut()) {
+                log.warn("Reindexing {} failed for {} documents; keeping it until the next startup",
+                        LEGACY_INDEX, response.getFailures().size());
+                return;
+            }
+            log.info("Reindexed {} logs from {} into {}*", response.getCreated(), LEGACY_INDEX, PREFIX);
+            legacy.delete();
+        } catch (RuntimeException e) {
+            log.warn("Could not reindex {}: {}", LEGACY_INDEX, e.getMessage());
+        }
+    }
+
+    private String legacyRoutingScript(LocalDateTime now) {
+        return """
+                String ts = ctx._source.createdAt != null ? ctx._source.createdAt : ctx._source.lastAttemptTime;
+                if (ts == null) {
+                  ts = '%s';
+                }
+                ctx._source.createdAt = ts;
+                ctx._source.id = ctx._id;
+                LocalDate day = LocalDate.parse(ts.substring(0, 10));
+                if (%s) {
+                  day = day.minusDays(day.getDayOfWeek().getValue() - 1);
+                }
+                ctx._index = '%s' + day.format(DateTimeFormatter.ofPattern('yyyy.MM.dd'));
+                """.formatted(now.format(TIMESTAMP), weekly, PREFIX);
+    }
+
+    private synchronized void putTemplate() {
+        if (templateReady) {
+            return;
+        }
+        try {
+            IndexOperations indexOps = operations.indexOps(EmailLog.class);
+            indexOps.putIndexTemplate(PutIndexTemplateRequest.builder()
+                    .withName(EmailLog.ALIAS)
+                    .withIndexPatterns(PREFIX + "*")
+                    .withSettings(indexOps.createSettings())
+                    .withMapping(indexOps.createMapping())
+                    .withAliasActions(new AliasActions(new AliasAction.Add(
+                            AliasActionParameters.builderForTemplate().withAliases(EmailLog.ALIAS).build())))
+                    .build());
+            templateReady = true;
+        } catch (RuntimeException e) {
+            log.warn("Could not put the {} index template: {}", EmailLog.ALIAS, e.getMessage());
+        }
+    }
+
+    private LocalDate periodStart(LocalDate day) {
+        return weekly ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)) : day;
+    }
+
+    // Indices that don't follow the naming scheme are never touched
+    private static LocalDate parsePeriodStart(String indexName) {
+        if (!indexName.startsWith(PREFIX)) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(indexName.substring(PREFIX.length()), SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -2,8 +2,19 @@ package com.project.movieapi.emailservice.repository;
 
 import com.project.movieapi.emailservice.model.EmailLog;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
-public interface EmailLogRepository extends ElasticsearchRepository<EmailLog, String> {
+public interface EmailLogRepository extends ElasticsearchRepository<EmailLog, String>, EmailLogRepositoryCustom {
     List<EmailLog> findByStatus(String status);
+
+    // Scrolls through the result instead of loading every match at once; close the stream when done
+    Stream<EmailLog> findByStatusAndNextAttemptTimeLessThanEqualOrderByNextAttemptTimeAsc(String status, LocalDateTime time);
+
+    // FAILED logs written before nextAttemptTime existed never match the range query above
+    Stream<EmailLog> findByStatusAndNextAttemptTimeIsNull(String status);
+
+    Stream<EmailLog> findByStatusAndCreatedAtLessThanEqualOrderByCreatedAtAsc(String status, LocalDateTime time);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.project.movieapi.emailservice.repository;
+
+import com.project.movieapi.emailservice.model.EmailLog;
+
+import java.util.List;
+import java.util.Optional;
+
+// Writes that have to target the concrete rolling index instead of the email-logs alias
+public interface EmailLogRepositoryCustom {
+    EmailLog insert(EmailLog emailLog);
+
+    List<EmailLog> insertAll(List<EmailLog> emailLogs);
+
+    // Partial updates of the status fields only; subject and content are not re-sent or re-indexed
+    void updateStatus(EmailLog emailLog);
+
+    void updateStatuses(List<EmailLog> emailLogs);
+
+    // findById does a GET, which Elasticsearch refuses on an alias spanning several indices
+    Optional<EmailLog> findLogById(String id);
+}
@@ -0,0 +1,96 @@
+package com.project.movieapi.emailservice.repository;
+
+import com.project.movieapi.emailservice.model.EmailLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class EmailLogRepositoryCustomImpl implements EmailLogRepositoryCustom {
+
+    // Sent explicitly even when null, so a SENT log loses the error and next attempt of its last failure
+    private static final List<String> STATUS_FIELDS =
+            List.of("status", "errorMessage", "attemptCount", "lastAttemptTime", "nextAttemptTime");
+
+    private final ElasticsearchOperations operations;
+    private final EmailLogIndex emailLogIndex;
+
+    @Override
+    public EmailLog insert(EmailLog emailLog) {
+        stamp(emailLog);
+        return operations.save(emailLog, emailLogIndex.writeIndexFor(emailLog.getCreatedAt()));
+    }
+
+    @Override
+    public List<EmailLog> insertAll(List<EmailLog> emailLogs) {
+        emailLogs.forEach(this::stamp);
+        for (Map.Entry<IndexCoordinates, List<EmailLog>> group : groupByIndex(emailLogs, true).entrySet()) {
+            operations.save(group.getValue(), group.getKey());
+        }
+        return emailLogs;
+    }
+
+    @Override
+    public void updateStatus(EmailLog emailLog) {
+        operations.update(statusUpdate(emailLog), emailLogIndex.indexFor(emailLog.getCreatedAt()));
+    }
+
+    @Override
+    public void updateStatuses(List<EmailLog> emailLogs) {
+        for (Map.Entry<IndexCoordinates, List<EmailLog>> group : groupByIndex(emailLogs, false).entrySet()) {
+            List<UpdateQuery> updates = new ArrayList<>(group.getValue().size());
+            for (EmailLog emailLog : group.getValue()) {
+                updates.add(statusUpdate(emailLog));
+            }
+            operations.bulkUpdate(updates, group.getKey());
+        }
+    }
+
+    @Override
+    public Optional<EmailLog> findLogById(String id) {
+        SearchHit<EmailLog> hit = operations.searchOne(NativeQuery.builder().withIds(id).build(), EmailLog.class);
+        return Optional.ofNullable(hit).map(SearchHit::getContent);
+    }
+
+    private UpdateQuery statusUpdate(EmailLog emailLog) {
+        Document mapped = operations.getElasticsearchConverter().mapObject(emailLog);
+        Document fields = Document.create();
+        for (String field : STATUS_FIELDS) {
+            fields.put(field, mapped.get(field));
+        }
+        return UpdateQuery.builder(emailLog.getId()).withDocument(fields).build();
+    }
+
+    private Map<IndexCoordinates, List<EmailLog>> groupByIndex(List<EmailLog> emailLogs, boolean forWrite) {
+        Map<IndexCoordinates, List<EmailLog>> groups = new LinkedHashMap<>();
+        for (EmailLog emailLog : emailLogs) {
+            IndexCoordinates index = forWrite
+                    ? emailLogIndex.writeIndexFor(emailLog.getCreatedAt())
+                    : emailLogIndex.indexFor(emailLog.getCreatedAt());
+            groups.computeIfAbsent(index, i -> new ArrayList<>()).add(emailLog);
+        }
+        return groups;
+    }
+
+    // Ids are assigned here rather than by Elasticsearch so they are also in _source, as the search_after tiebreaker
+    private void stamp(EmailLog emailLog) {
+        if (emailLog.getId() == null) {
+            emailLog.setId(UUID.randomUUID().toString());
+        }
+        if (emailLog.getCreatedAt() == null) {
+            emailLog.setCreatedAt(LocalDateTime.now());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.project.movieapi.emailservice.scheduler;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Each failed attempt waits for the next delay tier; the last tier repeats until max-attempts is reached
+@Component
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final List<Duration> delayTiers;
+
+    public RetryPolicy(@Value("${email.retry.max-attempts:10}") int maxAttempts,
+                       @Value("${email.retry.delay-tiers:30s,1m,2m,4m,8m,16m,32m,1h}") List<Duration> delayTiers) {
+        if (delayTiers.isEmpty()) {
+            throw new IllegalArgumentException("email.retry.delay-tiers must not be empty");
+        }
+        this.maxAttempts = maxAttempts;
+        this.delayTiers = delayTiers.stream().distinct().sorted().toList();
+    }
+
+    public boolean isExhausted(int attemptCount) {
+        return attemptCount >= maxAttempts;
+    }
+
+    public List<Duration> delayTiers() {
+        return delayTiers;
+    }
+
+    public Duration delay(int attemptCount) {
+        return delayTiers.get(Math.min(Math.max(attemptCount - 1, 0), delayTiers.size() - 1));
+    }
+
+    public LocalDateTime nextAttemptTime(int attemptCount) {
+        return LocalDateTime.now().plus(delay(attemptCount));
+    }
+}
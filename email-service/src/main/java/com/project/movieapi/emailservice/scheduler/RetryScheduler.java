@@ -3,39 +3,88 @@ package com.project.movieapi.emailservice.scheduler;
 import com.project.movieapi.emailservice.model.EmailLog;
 import com.project.movieapi.emailservice.repository.EmailLogRepository;
 import com.project.movieapi.emailservice.service.EmailSenderService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class RetryScheduler {
 
     private final EmailLogRepository repository;
     private final EmailSenderService emailService;
+    private final RetryPolicy retryPolicy;
+    private final int concurrency;
+    private final Duration grace;
+    private final Duration pendingGrace;
 
-    private static final int MAX_ATTEMPTS = 10;
+    public RetryScheduler(EmailLogRepository repository,
+                          EmailSenderService emailService,
+                          RetryPolicy retryPolicy,
+                          @Value("${email.retry.concurrency:8}") int concurrency,
+                          @Value("${email.retry.safety-net-grace:10m}") Duration grace,
+                          @Value("${email.retry.pending-grace:10m}") Duration pendingGrace) {
+        this.repository = repository;
+        this.emailService = emailService;
+        this.retryPolicy = retryPolicy;
+        this.concurrency = concurrency;
+        this.grace = grace;
+        this.pendingGrace = pendingGrace;
+    }
 
-    @Scheduled(fixedRate = 300000)
+    // Retries are pushed through the delay queues; this only catches emails whose retry message never came back
+    @Scheduled(fixedDelayString = "${email.retry.poll-interval:300000}")
     public void retryFailedEmails() {
-        log.info("Starting retry job...");
-        List<EmailLog> failedEmails = repository.findByStatus("FAILED");
+        Semaphore inFlight = new Semaphore(concurrency);
+        int retried = 0;
+
+        try (Stream<EmailLog> due = repository.findByStatusAndNextAttemptTimeLessThanEqualOrderByNextAttemptTimeAsc(
+                "FAILED", LocalDateTime.now().minus(grace))) {
+            retried += retry(due, inFlight);
+        }
+        try (Stream<EmailLog> unscheduled = repository.findByStatusAndNextAttemptTimeIsNull("FAILED")) {
+            retried += retry(unscheduled, inFlight);
+        }
+        // The message is acked once the PENDING log is written and the mail goes out later on the sender pool, so a
+        // crash in between leaves the log PENDING with nothing left in the queue to send it
+        try (Stream<EmailLog> stranded = repository.findByStatusAndCreatedAtLessThanEqualOrderByCreatedAtAsc(
+                "PENDING", LocalDateTime.now().minus(pendingGrace))) {
+            retried += retry(stranded, inFlight);
+        }
+
+        // Let this run drain before the next one starts, so an email is never retried twice at once
+        inFlight.acquireUninterruptibly(concurrency);
+        if (retried > 0) {
+            log.warn("Retried {} overdue emails", retried);
+        }
+    }
 
-        for (EmailLog email : failedEmails) {
-            if (email.getAttemptCount() >= MAX_ATTEMPTS) {
-                log.warn("Email id: {} reached max attempts ({}). Marking as CANCELLED.", email.getId(), MAX_ATTEMPTS);
+    private int retry(Stream<EmailLog> due, Semaphore inFlight) {
+        int retried = 0;
+        Iterator<EmailLog> emails = due.iterator();
+        while (emails.hasNext()) {
+            EmailLog email = emails.next();
+            if (retryPolicy.isExhausted(email.getAttemptCount())) {
+                log.warn("Email id: {} reached max attempts ({}). Marking as CANCELLED.", email.getId(), email.getAttemptCount());
                 email.setStatus("CANCELLED");
                 email.setErrorMessage("Max retry attempts reached. Stopping.");
-                repository.save(email);
+                email.setNextAttemptTime(null);
+                repository.updateStatus(email);
                 continue;
             }
 
+            inFlight.acquireUninterruptibly();
             log.info("Retrying email id: {}, attempt: {}", email.getId(), email.getAttemptCount() + 1);
-            emailService.trySend(email);
+            emailService.trySend(email).whenComplete((ignored, e) -> inFlight.release());
+            retried++;
         }
+        return retried;
     }
 }
\ No newline at end of file
@@ -0,0 +1,183 @@
+package com.project.movieapi.emailservice.sender;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Sends mail off the listener thread: bounded concurrency, a token-bucket rate limit for the relay
+// and a cap on parallel sends per recipient domain. A mail whose domain is at its cap waits in that domain's lane
+// instead of on a worker, so one slow domain never holds up the others.
+@Component
+public class MailDispatcher implements DisposableBean {
+
+    private final SmtpConnectionPool connectionPool;
+    private final ThreadPoolExecutor executor;
+    private final TokenBucket rateLimit;
+    private final int perDomainConcurrency;
+    private final Semaphore backlog;
+    // Only domains with mail in flight or waiting have a lane, so this never outgrows the backlog
+    private final Map<String, Lane> lanes = new HashMap<>();
+    private final Timer sent;
+    private final Timer failed;
+
+    public MailDispatcher(SmtpConnectionPool connectionPool,
+                          MeterRegistry meterRegistry,
+                          @Value("${email.sender.concurrency:4}") int concurrency,
+                          @Value("${email.sender.queue-capacity:1000}") int queueCapacity,
+                          @Value("${email.sender.rate-per-second:10}") double ratePerSecond,
+                          @Value("${email.sender.burst:20}") int burst,
+                          @Value("${email.sender.per-domain-concurrency:2}") int perDomainConcurrency) {
+        this.connectionPool = connectionPool;
+        this.rateLimit = new TokenBucket(ratePerSecond, burst);
+        this.perDomainConcurrency = perDomainConcurrency;
+        // A full backlog blocks the submitting listener until a send finishes, which slows consumption down; the
+        // executor queue itself never holds more than the backlog
+        this.backlog = new Semaphore(concurrency + queueCapacity);
+        this.executor = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("smtp-sender-"));
+
+        int capacity = concurrency + queueCapacity;
+        Gauge.builder("email.sender.queue.depth", this,
+                d -> capacity - d.backlog.availablePermits() - d.executor.getActiveCount()).register(meterRegistry);
+        Gauge.builder("email.sender.domains.active", this, MailDispatcher::activeDomains).register(meterRegistry);
+        Gauge.builder("email.sender.active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+        this.sent = Timer.builder("email.sender.send.latency").tag("outcome", "sent").register(meterRegistry);
+        this.failed = Timer.builder("email.sender.send.latency").tag("outcome", "failed").register(meterRegistry);
+    }
+
+    public CompletableFuture<Void> send(SimpleMailMessage message) {
+        try {
+            backlog.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        Job job = new Job(domainOf(message), message);
+        boolean start;
+        synchronized (lanes) {
+            Lane lane = lanes.computeIfAbsent(job.domain, d -> new Lane());
+            start = lane.active < perDomainConcurrency;
+            if (start) {
+                lane.active++;
+            } else {
+                lane.waiting.add(job);
+            }
+        }
+        if (start) {
+            dispatch(job);
+        }
+        return job.result;
+    }
+
+    private void dispatch(Job job) {
+        while (job != null) {
+            try {
+                executor.execute(job);
+                return;
+            } catch (RejectedExecutionException e) {
+                job.result.completeExceptionally(e);
+                job = finish(job);
+            }
+        }
+    }
+
+    // Frees the job's backlog and lane slot; the domain's next waiting job, if any, takes the lane slot over
+    private Job finish(Job job) {
+        backlog.release();
+        synchronized (lanes) {
+            Lane lane = lanes.get(job.domain);
+            Job next = lane.waiting.poll();
+            if (next == null && --lane.active == 0) {
+                lanes.remove(job.domain);
+            }
+            return next;
+        }
+    }
+
+    private int activeDomains() {
+        synchronized (lanes) {
+            return lanes.size();
+        }
+    }
+
+    private void deliver(SimpleMailMessage message) {
+        try {
+            rateLimit.acquire();
+            long start = System.nanoTime();
+            try {
+                connectionPool.send(message);
+                sent.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            } catch (Exception e) {
+                failed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        } catch (Exception e) {
+            throw new MailSendException("Failed to send email: " + e.getMessage(), e);
+        }
+    }
+
+    private String domainOf(SimpleMailMessage message) {
+        String[] to = message.getTo();
+        if (to == null || to.length == 0) {
+            return "";
+        }
+        int at = to[0].lastIndexOf('@');
+        return at < 0 ? "" : to[0].substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private final class Job implements Runnable {
+        private final String domain;
+        private final SimpleMailMessage message;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private Job(String domain, SimpleMailMessage message) {
+            this.domain = domain;
+            this.message = message;
+        }
+
+        @Override
+        public void run() {
+            try {
+                deliver(message);
+                result.complete(null);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            } finally {
+                dispatch(finish(this));
+            }
+        }
+    }
+
+    private static final class Lane {
+        private final Queue<Job> waiting = new ArrayDeque<>();
+        private int active;
+    }
+}
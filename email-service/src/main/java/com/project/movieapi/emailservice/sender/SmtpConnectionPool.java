@@ -0,0 +1,91 @@
+package com.project.movieapi.emailservice.sender;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMailMessage;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+
+// Keeps up to 'connections' SMTP sessions open between sends instead of a connect/EHLO/AUTH/QUIT per mail
+@Component
+@Slf4j
+public class SmtpConnectionPool implements DisposableBean {
+
+    private final JavaMailSenderImpl mailSender;
+    private final Semaphore permits;
+    private final BlockingQueue<Transport> idle = new LinkedBlockingQueue<>();
+    private final Counter opened;
+
+    public SmtpConnectionPool(JavaMailSenderImpl mailSender,
+                              MeterRegistry meterRegistry,
+                              @Value("${email.sender.connections:4}") int connections) {
+        this.mailSender = mailSender;
+        this.permits = new Semaphore(connections);
+        this.opened = Counter.builder("email.sender.connections.opened").register(meterRegistry);
+        Gauge.builder("email.sender.connections.idle", idle, BlockingQueue::size).register(meterRegistry);
+    }
+
+    public void send(SimpleMailMessage message) throws MessagingException, InterruptedException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        message.copyTo(new MimeMailMessage(mimeMessage));
+        mimeMessage.setSentDate(new Date());
+        mimeMessage.saveChanges();
+
+        permits.acquire();
+        Transport transport = idle.poll();
+        try {
+            if (transport == null || !transport.isConnected()) {
+                close(transport);
+                transport = connect();
+            }
+            transport.sendMessage(mimeMessage, mimeMessage.getAllRecipients());
+            idle.add(transport);
+        } catch (MessagingException | RuntimeException e) {
+            // The session state is unknown after a failure; never hand it to the next sender
+            close(transport);
+            throw e;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Transport connect() throws MessagingException {
+        String protocol = mailSender.getProtocol() != null ? mailSender.getProtocol() : JavaMailSenderImpl.DEFAULT_PROTOCOL;
+        Transport transport = mailSender.getSession().getTransport(protocol);
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(), mailSender.getPassword());
+        opened.increment();
+        return transport;
+    }
+
+    private void close(Transport transport) {
+        if (transport == null) {
+            return;
+        }
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Failed to close SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            close(transport);
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.project.movieapi.emailservice.service;
+
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.ArrayPercentilesItem;
+import co.elastic.clients.elasticsearch._types.aggregations.CalendarInterval;
+import co.elastic.clients.elasticsearch._types.aggregations.DateHistogramBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.project.movieapi.emailservice.dto.EmailLogListResponseDto;
+import com.project.movieapi.emailservice.dto.EmailLogStatsDto;
+import com.project.movieapi.emailservice.exception.InvalidCursorException;
+import com.project.movieapi.emailservice.model.EmailLog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilter;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Everything is computed by Elasticsearch: pages are read with search_after and the stats are aggregations, so neither
+// the page depth nor the number of logs in the range changes what this service holds in memory.
+@Service
+@RequiredArgsConstructor
+public class EmailLogSearchService {
+
+    static final int MAX_PAGE_SIZE = 500;
+
+    // Same pattern as the date fields of EmailLog; the dates carry no zone and Elasticsearch reads them as UTC
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd'T'HH:mm:ss.SSS");
+
+    private final ElasticsearchOperations operations;
+
+    public EmailLogListResponseDto search(String recipient, String status, LocalDateTime from, LocalDateTime to,
+                                          int size, String after) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        var query = NativeQuery.builder()
+                .withQuery(filter(recipient, status, from, to))
+                .withSort(s -> s.field(f -> f.field("createdAt").order(SortOrder.Desc)))
+                .withSort(s -> s.field(f -> f.field("id").order(SortOrder.Desc)))
+                .withSourceFilter(new FetchSourceFilter(true, null, new String[]{"content"}))
+                .withMaxResults(pageSize)
+                .withTrackTotalHits(false);
+        if (after != null && !after.isBlank()) {
+            query.withSearchAfter(decodeCursor(after));
+        }
+
+        SearchHits<EmailLog> hits = operations.search(query.build(), EmailLog.class);
+        List<EmailLog> logs = new ArrayList<>(hits.getSearchHits().size());
+        for (SearchHit<EmailLog> hit : hits.getSearchHits()) {
+            logs.add(hit.getContent());
+        }
+        String nextCursor = logs.size() == pageSize
+                ? encodeCursor(hits.getSearchHits().get(pageSize - 1).getSortValues())
+                : null;
+        return new EmailLogListResponseDto(logs, nextCursor);
+    }
+
+    public EmailLogStatsDto stats(String recipient, LocalDateTime from, LocalDateTime to, int topErrors) {
+        NativeQuery query = NativeQuery.builder()
+                .withQuery(filter(recipient, null, from, to))
+                .withAggregation("hourly", Aggregation.of(a -> a
+                        .dateHistogram(h -> h.field("createdAt").calendarInterval(CalendarInterval.Hour).minDocCount(0))
+                        .aggregations("statuses", Aggregation.of(s -> s.terms(t -> t.field("status"))))))
+                .withAggregation("topErrors", Aggregation.of(a -> a
+                        .terms(t -> t.field("errorMessage").size(Math.max(1, topErrors)))))
+                .withAggregation("attempts", Aggregation.of(a -> a
+                        .percentiles(p -> p.field("attemptCount").percents(95.0).keyed(false))))
+                .withMaxResults(0)
+                .withTrackTotalHits(true)
+                .build();
+
+        SearchHits<EmailLog> hits = operations.search(query, EmailLog.class);
+        Map<String, Aggregate> aggregations = new LinkedHashMap<>();
+        if (hits.getAggregations() instanceof ElasticsearchAggregations elasticsearchAggregations) {
+            elasticsearchAggregations.aggregationsAsMap()
+                    .forEach((name, aggregation) -> aggregations.put(name, aggregation.aggregation().getAggregate()));
+        }
+        return new EmailLogStatsDto(hits.getTotalHits(), hourly(aggregations.get("hourly")),
+                topErrors(aggregations.get("topErrors")), p95(aggregations.get("attempts")));
+    }
+
+    private Query filter(String recipient, String status, LocalDateTime from, LocalDateTime to) {
+        BoolQuery.Builder bool = new BoolQuery.Builder();
+        if (recipient != null && !recipient.isBlank()) {
+            bool.filter(f -> f.term(t -> t.field("recipient").value(recipient)));
+        }
+        if (status != null && !status.isBlank()) {
+            bool.filter(f -> f.term(t -> t.field("status").value(status)));
+        }
+        if (from != null || to != null) {
+            bool.filter(f -> f.range(r -> r.date(d -> {
+                d.field("createdAt");
+                if (from != null) {
+                    d.gte(from.format(DATE_FORMAT));
+                }
+                if (to != null) {
+                    d.lt(to.format(DATE_FORMAT));
+                }
+                return d;
+            })));
+        }
+        return Query.of(q -> q.bool(bool.build()));
+    }
+
+    private List<EmailLogStatsDto.HourlyCount> hourly(Aggregate aggregate) {
+        List<EmailLogStatsDto.HourlyCount> hourly = new ArrayList<>();
+        if (aggregate == null) {
+            return hourly;
+        }
+        for (DateHistogramBucket bucket : aggregate.dateHistogram().buckets().array()) {
+            Map<String, Long> statuses = new LinkedHashMap<>();
+            for (StringTermsBucket status : bucket.aggregations().get("statuses").sterms().buckets().array()) {
+                statuses.put(status.key().stringValue(), status.docCount());
+            }
+            hourly.add(new EmailLogStatsDto.HourlyCount(
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(bucket.key()), ZoneOffset.UTC), statuses));
+        }
+        return hourly;
+    }
+
+    private List<EmailLogStatsDto.ErrorCount> topErrors(Aggregate aggregate) {
+        List<EmailLogStatsDto.ErrorCount> errors = new ArrayList<>();
+        if (aggregate == null) {
+            return errors;
+        }
+        for (StringTermsBucket bucket : aggregate.sterms().buckets().array()) {
+            errors.add(new EmailLogStatsDto.ErrorCount(bucket.key().stringValue(), bucket.docCount()));
+        }
+        return errors;
+    }
+
+    private Double p95(Aggregate aggregate) {
+        if (aggregate == null || !aggregate.tdigestPercentiles().values().isArray()) {
+            return null;
+        }
+        for (ArrayPercentilesItem item : aggregate.tdigestPercentiles().values().array()) {
+            if (item.key() == 95.0) {
+                return item.value();
+            }
+        }
+        return null;
+    }
+
+    // The cursor is the sort values of the last hit: createdAt in epoch millis and the log id
+    private String encodeCursor(List<Object> sortValues) {
+        String cursor = sortValues.get(0) + ":" + sortValues.get(1);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<Object> decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(':');
+            return List.of(Long.valueOf(decoded.substring(0, separator)), decoded.substring(separator + 1));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
@@ -1,24 +1,128 @@
 package com.project.movieapi.emailservice.service;
 
+import com.project.movieapi.emailservice.dto.EmailRequestDto;
 import com.project.movieapi.emailservice.model.EmailLog;
 import com.project.movieapi.emailservice.repository.EmailLogRepository;
+import com.project.movieapi.emailservice.scheduler.RetryPolicy;
+import com.project.movieapi.emailservice.sender.MailDispatcher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailSenderService {
 
-    private final JavaMailSender javaMailSender;
+    private final MailDispatcher mailDispatcher;
     private final EmailLogRepository repository;
+    private final RetryPolicy retryPolicy;
+    private final RetryPublisher retryPublisher;
 
-    public void processEmail(String to, String subject, String content) {
+    public CompletableFuture<Void> processEmail(String to, String subject, String content) {
+        EmailLog emailLog = newEmailLog(to, subject, content);
+
+        emailLog = repository.insert(emailLog);
+
+        return trySend(emailLog);
+    }
+
+    // One bulk index for the PENDING logs, all mails in flight on the sender pool at once, one bulk partial update for the outcomes
+    public void processBatch(List<EmailRequestDto> requests) {
+        List<EmailLog> saved = recordAll(requests);
+
+        List<CompletableFuture<Void>> sends = new ArrayList<>(saved.size());
+        for (EmailLog emailLog : saved) {
+            sends.add(send(emailLog));
+        }
+        CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).exceptionally(e -> null).join();
+        log.info("Processed batch of {} emails", saved.size());
+
+        repository.updateStatuses(saved);
+        saved.forEach(this::scheduleRetryIfFailed);
+    }
+
+    // Writes PENDING logs without sending anything, for mails that go out later as part of a digest
+    public EmailLog record(EmailRequestDto request) {
+        return repository.insert(newEmailLog(request.getRecipient(), request.getSubject(), request.getBody()));
+    }
+
+    public List<EmailLog> recordAll(List<EmailRequestDto> requests) {
+        List<EmailLog> emailLogs = new ArrayList<>(requests.size());
+        for (EmailRequestDto request : requests) {
+            emailLogs.add(newEmailLog(request.getRecipient(), request.getSubject(), request.getBody()));
+        }
+        return repository.insertAll(emailLogs);
+    }
+
+    // One mail stands in for all of a digest's logs and they share its outcome; when it fails, each log is retried on
+    // its own through the delay queues, like any other failed email
+    public CompletableFuture<Void> sendDigest(String to, String subject, String content, List<EmailLog> emailLogs) {
+        for (EmailLog emailLog : emailLogs) {
+            emailLog.setAttemptCount(emailLog.getAttemptCount() + 1);
+            emailLog.setLastAttemptTime(LocalDateTime.now());
+        }
+        return mailDispatcher.send(toMessage(to, subject, content)).handle((ignored, e) -> {
+            if (e == null) {
+                emailLogs.forEach(this::markSent);
+                log.info("Digest of {} emails sent to {}", emailLogs.size(), to);
+            } else {
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                emailLogs.forEach(emailLog -> markFailed(emailLog, cause));
+            }
+            return null;
+        }).thenRun(() -> {
+            repository.updateStatuses(emailLogs);
+            emailLogs.forEach(this::scheduleRetryIfFailed);
+        });
+    }
+
+    // A retry message that the retry job already handled, or a redelivered one, must not send the mail twice
+    public CompletableFuture<Void> retry(String id, int attemptCount) {
+        EmailLog emailLog = repository.findLogById(id).orElse(null);
+        if (emailLog == null || !"FAILED".equals(emailLog.getStatus()) || emailLog.getAttemptCount() != attemptCount) {
+            log.info("Skipping stale retry for email id: {}, attempt: {}", id, attemptCount + 1);
+            return CompletableFuture.completedFuture(null);
+        }
+        log.info("Retrying email id: {}, attempt: {}", id, attemptCount + 1);
+        return trySend(emailLog);
+    }
+
+    public CompletableFuture<Void> trySend(EmailLog emailLog) {
+        return send(emailLog).exceptionally(e -> null).thenRun(() -> {
+            repository.updateStatus(emailLog);
+            scheduleRetryIfFailed(emailLog);
+        });
+    }
+
+    private void scheduleRetryIfFailed(EmailLog emailLog) {
+        if ("FAILED".equals(emailLog.getStatus())) {
+            retryPublisher.schedule(emailLog);
+        }
+    }
+
+    private CompletableFuture<Void> send(EmailLog emailLog) {
+        emailLog.setAttemptCount(emailLog.getAttemptCount() + 1);
+        emailLog.setLastAttemptTime(LocalDateTime.now());
+
+        return mailDispatcher.send(toMessage(emailLog.getRecipient(), emailLog.getSubject(), emailLog.getContent())).whenComplete((ignored, e) -> {
+            if (e == null) {
+                markSent(emailLog);
+                log.info("Email sent to {}", emailLog.getRecipient());
+            } else {
+                markFailed(emailLog, e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+            }
+        });
+    }
+
+    private EmailLog newEmailLog(String to, String subject, String content) {
         EmailLog emailLog = new EmailLog();
         emailLog.setRecipient(to);
         emailLog.setSubject(subject);
@@ -26,34 +130,35 @@ public class EmailSenderService {
         emailLog.setStatus("PENDING");
         emailLog.setAttemptCount(0);
         emailLog.setLastAttemptTime(LocalDateTime.now());
-
-        emailLog = repository.save(emailLog);
-
-        trySend(emailLog);
+        emailLog.setCreatedAt(emailLog.getLastAttemptTime());
+        return emailLog;
     }
 
-    public void trySend(EmailLog emailLog) {
-        emailLog.setAttemptCount(emailLog.getAttemptCount() + 1);
-        emailLog.setLastAttemptTime(LocalDateTime.now());
-
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(emailLog.getRecipient());
-            message.setSubject(emailLog.getSubject());
-            message.setText(emailLog.getContent());
-            message.setFrom("noreply@moviereviews.com");
+    private SimpleMailMessage toMessage(String to, String subject, String content) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setTo(to);
+        message.setSubject(subject);
+        message.setText(content);
+        message.setFrom("noreply@moviereviews.com");
+        return message;
+    }
 
-            javaMailSender.send(message);
+    private void markSent(EmailLog emailLog) {
+        emailLog.setStatus("SENT");
+        emailLog.setErrorMessage(null);
+        emailLog.setNextAttemptTime(null);
+    }
 
-            emailLog.setStatus("SENT");
-            emailLog.setErrorMessage(null);
-            log.info("Email sent to {}", emailLog.getRecipient());
-        } catch (Exception e) {
-            log.error("Failed to send email: {}", e.getMessage());
+    private void markFailed(EmailLog emailLog, Throwable e) {
+        log.error("Failed to send email: {}", e.getMessage());
+        emailLog.setErrorMessage(e.getClass().getSimpleName() + ": " + e.getMessage());
+        if (retryPolicy.isExhausted(emailLog.getAttemptCount())) {
+            log.warn("Email id: {} reached max attempts ({}). Marking as CANCELLED.", emailLog.getId(), emailLog.getAttemptCount());
+            emailLog.setStatus("CANCELLED");
+            emailLog.setNextAttemptTime(null);
+        } else {
             emailLog.setStatus("FAILED");
-            emailLog.setErrorMessage(e.getClass().getSimpleName() + ": " + e.getMessage());
+            emailLog.setNextAttemptTime(retryPolicy.nextAttemptTime(emailLog.getAttemptCount()));
         }
-
-        repository.save(emailLog);
     }
 }
\ No newline at end of file
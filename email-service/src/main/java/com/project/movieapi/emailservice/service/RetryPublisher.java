@@ -0,0 +1,41 @@
+package com.project.movieapi.emailservice.service;
+
+import com.project.movieapi.emailservice.config.RabbitConfig;
+import com.project.movieapi.emailservice.dto.EmailRequestDto;
+import com.project.movieapi.emailservice.model.EmailLog;
+import com.project.movieapi.emailservice.scheduler.RetryPolicy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Parks a failed email in the delay queue for its attempt; when the TTL expires RabbitMQ dead-letters it back into email_queue
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RetryPublisher {
+
+    public static final String LOG_ID_HEADER = "x-email-log-id";
+    public static final String ATTEMPT_HEADER = "x-email-attempt";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final RetryPolicy retryPolicy;
+
+    public void schedule(EmailLog emailLog) {
+        Duration delay = retryPolicy.delay(emailLog.getAttemptCount());
+        EmailRequestDto message = new EmailRequestDto(emailLog.getRecipient(), emailLog.getSubject(), emailLog.getContent());
+        try {
+            rabbitTemplate.convertAndSend("", RabbitConfig.retryQueueName(delay), message, amqpMessage -> {
+                amqpMessage.getMessageProperties().setHeader(LOG_ID_HEADER, emailLog.getId());
+                amqpMessage.getMessageProperties().setHeader(ATTEMPT_HEADER, emailLog.getAttemptCount());
+                return amqpMessage;
+            });
+        } catch (AmqpException e) {
+            // The log is already FAILED with a nextAttemptTime, so the retry job still picks it up
+            log.warn("Failed to schedule retry for email id: {}: {}", emailLog.getId(), e.getMessage());
+        }
+    }
+}
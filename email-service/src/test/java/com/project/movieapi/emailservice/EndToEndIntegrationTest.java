@@ -3,6 +3,7 @@ package com.project.movieapi.emailservice;
 import com.project.movieapi.emailservice.dto.EmailRequestDto;
 import com.project.movieapi.emailservice.model.EmailLog;
 import com.project.movieapi.emailservice.repository.EmailLogRepository;
+import com.project.movieapi.emailservice.sender.MailDispatcher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -10,15 +11,16 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @Disabled
 class EndToEndIntegrationTest extends AbstractIntegrationTest {
@@ -30,11 +32,12 @@ class EndToEndIntegrationTest extends AbstractIntegrationTest {
     private EmailLogRepository repository;
 
     @MockitoBean
-    private JavaMailSender javaMailSender;
+    private MailDispatcher mailDispatcher;
 
     @BeforeEach
     void cleanUp() {
         repository.deleteAll();
+        when(mailDispatcher.send(any(SimpleMailMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
     }
 
     @Test
@@ -52,6 +55,6 @@ class EndToEndIntegrationTest extends AbstractIntegrationTest {
             assertThat(log.getSubject()).isEqualTo("Integration Subject");
         });
 
-        verify(javaMailSender).send(any(SimpleMailMessage.class));
+        verify(mailDispatcher).send(any(SimpleMailMessage.class));
     }
 }
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.project.movieapi.emailservice.consumer;
+
+import com.project.movieapi.emailservice.digest.EmailDigest;
+import com.project.movieapi.emailservice.dto.EmailRequestDto;
+import com.project.movieapi.emailservice.model.EmailLog;
+import com.project.movieapi.emailservice.service.EmailSenderService;
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.data.elasticsearch.UncategorizedElasticsearchException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailBatchConsumerTest {
+
+    @Mock
+    private EmailSenderService emailSenderService;
+
+    @Mock
+    private EmailDigest emailDigest;
+
+    @Mock
+    private Channel channel;
+
+    @InjectMocks
+    private EmailBatchConsumer emailBatchConsumer;
+
+    private final EmailRequestDto first = new EmailRequestDto("first@movieapi.com", "New Movie Created", "Inception");
+    private final EmailRequestDto poison = new EmailRequestDto("poison@movieapi.com", "New Movie Created", "Tenet");
+    private final EmailRequestDto last = new EmailRequestDto("last@movieapi.com", "New Movie Created", "Dunkirk");
+
+    private Message<EmailRequestDto> message(EmailRequestDto payload, long deliveryTag) {
+        return MessageBuilder.withPayload(payload).setHeader(AmqpHeaders.DELIVERY_TAG, deliveryTag).build();
+    }
+
+    @Test
+    void shouldAckWholeBatch_afterBulkWrite() throws IOException {
+        emailBatchConsumer.consumeMessages(List.of(message(first, 1L), message(poison, 2L), message(last, 3L)), channel);
+
+        verify(emailSenderService).processBatch(List.of(first, poison, last));
+        verify(channel).basicAck(3L, true);
+        verify(channel, never()).basicReject(anyLong(), anyBoolean());
+    }
+
+    @Test
+    void shouldRejectOnlyTheFailingMessage_whenBatchFails() throws IOException {
+        doThrow(new UncategorizedElasticsearchException("Document rejected")).when(emailSenderService).processBatch(any());
+        when(emailSenderService.processEmail("poison@movieapi.com", "New Movie Created", "Tenet"))
+                .thenThrow(new UncategorizedElasticsearchException("Document rejected"));
+
+        emailBatchConsumer.consumeMessages(List.of(message(first, 1L), message(poison, 2L), message(last, 3L)), channel);
+
+        verify(emailSenderService).processEmail("first@movieapi.com", "New Movie Created", "Inception");
+        verify(emailSenderService).processEmail("last@movieapi.com", "New Movie Created", "Dunkirk");
+        verify(channel).basicReject(2L, false);
+        verify(channel).basicAck(3L, true);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void shouldBufferForDigest_onlyAfterLogsAreWritten() throws IOException {
+        List<EmailLog> recorded = List.of(new EmailLog(), new EmailLog());
+        when(emailDigest.isEnabled()).thenReturn(true);
+        when(emailSenderService.recordAll(List.of(first, last))).thenReturn(recorded);
+
+        emailBatchConsumer.consumeMessages(List.of(message(first, 1L), message(last, 2L)), channel);
+
+        InOrder inOrder = inOrder(emailSenderService, emailDigest, channel);
+        inOrder.verify(emailSenderService).recordAll(List.of(first, last));
+        inOrder.verify(emailDigest).offerAll(recorded);
+        inOrder.verify(channel).basicAck(2L, true);
+        verify(emailSenderService, never()).processBatch(any());
+    }
+
+    @Test
+    void shouldNotBufferForDigest_whenBatchIsRequeued() throws IOException {
+        when(emailDigest.isEnabled()).thenReturn(true);
+        when(emailSenderService.recordAll(any())).thenThrow(new UncategorizedElasticsearchException("Elasticsearch is down"));
+        when(emailDigest.offer(any())).thenThrow(new UncategorizedElasticsearchException("Elasticsearch is down"));
+
+        assertThrows(UncategorizedElasticsearchException.class,
+                () -> emailBatchConsumer.consumeMessages(List.of(message(first, 1L), message(last, 2L)), channel));
+
+        verify(emailDigest, never()).offerAll(any());
+        verify(channel).basicNack(2L, true, true);
+    }
+
+    @Test
+    void shouldRequeueWholeBatch_whenNoMessageGetsThrough() throws IOException {
+        doThrow(new UncategorizedElasticsearchException("Elasticsearch is down")).when(emailSenderService).processBatch(any());
+        when(emailSenderService.processEmail(any(), any(), any()))
+                .thenThrow(new UncategorizedElasticsearchException("Elasticsearch is down"));
+
+        assertThrows(UncategorizedElasticsearchException.class,
+                () -> emailBatchConsumer.consumeMessages(List.of(message(first, 1L), message(last, 2L)), channel));
+
+        verify(channel).basicNack(2L, true, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        verify(channel, never()).basicReject(anyLong(), anyBoolean());
+    }
+}
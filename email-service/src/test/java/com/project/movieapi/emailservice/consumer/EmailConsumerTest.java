@@ -0,0 +1,78 @@
+package com.project.movieapi.emailservice.consumer;
+
+import com.project.movieapi.emailservice.digest.EmailDigest;
+import com.project.movieapi.emailservice.dto.EmailRequestDto;
+import com.project.movieapi.emailservice.service.EmailSenderService;
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.elasticsearch.UncategorizedElasticsearchException;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailConsumerTest {
+
+    @Mock
+    private EmailSenderService emailSenderService;
+
+    @Mock
+    private EmailDigest emailDigest;
+
+    @Mock
+    private Channel channel;
+
+    @InjectMocks
+    private EmailConsumer emailConsumer;
+
+    private final EmailRequestDto message = new EmailRequestDto("admin@movieapi.com", "New Movie Created", "Inception");
+
+    @Test
+    void shouldAck_afterEmailLogIsWritten() throws IOException {
+        emailConsumer.consumeMessage(message, null, null, channel, 7L);
+
+        InOrder inOrder = inOrder(emailSenderService, channel);
+        inOrder.verify(emailSenderService).processEmail("admin@movieapi.com", "New Movie Created", "Inception");
+        inOrder.verify(channel).basicAck(7L, false);
+    }
+
+    @Test
+    void shouldRetryExistingLog_whenRetryHeadersArePresent() throws IOException {
+        emailConsumer.consumeMessage(message, "42", 3, channel, 8L);
+
+        verify(emailSenderService).retry("42", 3);
+        verify(emailSenderService, never()).processEmail(any(), any(), any());
+        verify(channel).basicAck(8L, false);
+    }
+
+    @Test
+    void shouldAck_whenMessageIsBufferedForDigest() throws IOException {
+        when(emailDigest.offer(message)).thenReturn(true);
+
+        emailConsumer.consumeMessage(message, null, null, channel, 10L);
+
+        verify(emailSenderService, never()).processEmail(any(), any(), any());
+        verify(channel).basicAck(10L, false);
+    }
+
+    @Test
+    void shouldRequeue_whenEmailLogCannotBeWritten() throws IOException {
+        when(emailSenderService.processEmail(any(), any(), any()))
+                .thenThrow(new UncategorizedElasticsearchException("Elasticsearch is down"));
+
+        assertThrows(UncategorizedElasticsearchException.class,
+                () -> emailConsumer.consumeMessage(message, null, null, channel, 9L));
+
+        verify(channel).basicNack(9L, false, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+}
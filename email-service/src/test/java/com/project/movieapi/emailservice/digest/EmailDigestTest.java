@@ -0,0 +1,210 @@
+package com.project.movieapi.emailservice.digest;
+
+import com.project.movieapi.emailservice.dto.EmailRequestDto;
+import com.project.movieapi.emailservice.model.EmailLog;
+import com.project.movieapi.emailservice.service.EmailSenderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.elasticsearch.UncategorizedElasticsearchException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailDigestTest {
+
+    @Mock
+    private EmailSenderService emailSenderService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock();
+
+    private EmailDigest digest(int maxMessages, int maxBuffered, int maxListed) {
+        lenient().when(emailSenderService.record(any())).thenAnswer(invocation -> {
+            EmailRequestDto request = invocation.getArgument(0);
+            EmailLog emailLog = new EmailLog();
+            emailLog.setRecipient(request.getRecipient());
+            emailLog.setSubject(request.getSubject());
+            emailLog.setContent(request.getBody());
+            emailLog.setStatus("PENDING");
+            return emailLog;
+        });
+        lenient().when(emailSenderService.sendDigest(any(), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        return new EmailDigest(emailSenderService, meterRegistry, clock, true, Duration.ofSeconds(60),
+                maxMessages, maxBuffered, maxListed);
+    }
+
+    private EmailRequestDto created(String recipient, String title) {
+        return new EmailRequestDto(recipient, "New Movie Created", "A new movie has been added to the catalog: " + title);
+    }
+
+    @Test
+    void shouldNotBuffer_whenDisabled() {
+        EmailDigest digest = new EmailDigest(emailSenderService, meterRegistry, clock, false, Duration.ofSeconds(60), 10, 100, 10);
+
+        assertFalse(digest.offer(created("admin@movieapi.com", "Inception")));
+        verifyNoInteractions(emailSenderService);
+    }
+
+    @Test
+    void shouldSendOneEmailPerRecipient_whenWindowExpires() {
+        EmailDigest digest = digest(100, 1000, 100);
+        for (int i = 0; i < 50; i++) {
+            assertTrue(digest.offer(created("admin@movieapi.com", "Movie " + i)));
+        }
+        digest.offer(created("ops@movieapi.com", "Tenet"));
+
+        clock.advance(Duration.ofSeconds(30));
+        digest.flushDue();
+        verify(emailSenderService, never()).sendDigest(any(), any(), any(), any());
+
+        clock.advance(Duration.ofSeconds(30));
+        digest.flushDue();
+
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<EmailLog>> logs = ArgumentCaptor.captor();
+        verify(emailSenderService).sendDigest(eq("admin@movieapi.com"), eq("New Movie Created (50)"), body.capture(), logs.capture());
+        assertTrue(body.getValue().contains("Movie 0") && body.getValue().contains("Movie 49"));
+        assertEquals(50, logs.getValue().size());
+        verify(emailSenderService).sendDigest(eq("ops@movieapi.com"), eq("New Movie Created"),
+                eq("A new movie has been added to the catalog: Tenet"), anyList());
+        assertEquals(0, digest.buffered());
+        assertEquals(51.0 / 2, meterRegistry.get("email.digest.coalescing.ratio").gauge().value());
+    }
+
+    @Test
+    void shouldFlushRecipient_whenMaxMessagesReached() {
+        EmailDigest digest = digest(3, 1000, 100);
+
+        digest.offer(created("admin@movieapi.com", "Inception"));
+        digest.offer(created("admin@movieapi.com", "Tenet"));
+        verify(emailSenderService, never()).sendDigest(any(), any(), any(), any());
+        digest.offer(created("admin@movieapi.com", "Dunkirk"));
+
+        verify(emailSenderService).sendDigest(eq("admin@movieapi.com"), eq("New Movie Created (3)"), anyString(), anyList());
+        assertEquals(0, digest.buffered());
+    }
+
+    @Test
+    void shouldFlushLargestDigest_whenBufferIsFull() {
+        EmailDigest digest = digest(100, 4, 100);
+
+        digest.offer(created("a@movieapi.com", "Inception"));
+        digest.offer(created("b@movieapi.com", "Tenet"));
+        digest.offer(created("b@movieapi.com", "Dunkirk"));
+        digest.offer(created("c@movieapi.com", "Memento"));
+
+        verify(emailSenderService).sendDigest(eq("b@movieapi.com"), eq("New Movie Created (2)"), anyString(), anyList());
+        verify(emailSenderService, times(1)).sendDigest(any(), any(), any(), any());
+        assertEquals(2, digest.buffered());
+    }
+
+    @Test
+    void shouldListOnlyMaxListedBodies() {
+        EmailDigest digest = digest(5, 1000, 2);
+        for (int i = 0; i < 5; i++) {
+            digest.offer(created("admin@movieapi.com", "Movie " + i));
+        }
+
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(emailSenderService).sendDigest(anyString(), anyString(), body.capture(), anyList());
+        assertFalse(body.getValue().contains("Movie 2"));
+        assertTrue(body.getValue().endsWith("...and 3 more."));
+    }
+
+    @Test
+    void shouldNotBuffer_whenLogCannotBeWritten() {
+        EmailDigest digest = digest(100, 1000, 100);
+        doThrow(new UncategorizedElasticsearchException("Elasticsearch is down")).when(emailSenderService).record(any());
+
+        assertThrows(UncategorizedElasticsearchException.class,
+                () -> digest.offer(created("admin@movieapi.com", "Inception")));
+
+        assertEquals(0, digest.buffered());
+    }
+
+    @Test
+    void shouldBufferLogsWrittenByTheCaller() {
+        EmailDigest digest = digest(100, 1000, 100);
+        EmailLog first = new EmailLog();
+        first.setRecipient("admin@movieapi.com");
+        first.setSubject("New Movie Created");
+        first.setContent("Inception");
+        EmailLog second = new EmailLog();
+        second.setRecipient("admin@movieapi.com");
+        second.setSubject("New Movie Created");
+        second.setContent("Tenet");
+
+        digest.offerAll(List.of(first, second));
+        clock.advance(Duration.ofSeconds(60));
+        digest.flushDue();
+
+        verify(emailSenderService).sendDigest("admin@movieapi.com", "New Movie Created (2)", "Inception\n\nTenet",
+                List.of(first, second));
+        verify(emailSenderService, never()).record(any());
+    }
+
+    @Test
+    void shouldNotKeepFailedDigest_sinceItsLogsAreRetried() {
+        EmailDigest digest = digest(100, 1000, 100);
+        doReturn(CompletableFuture.failedFuture(new UncategorizedElasticsearchException("Elasticsearch is down")))
+                .when(emailSenderService).sendDigest(any(), any(), any(), any());
+        digest.offer(created("admin@movieapi.com", "Inception"));
+
+        clock.advance(Duration.ofSeconds(60));
+        digest.flushDue();
+        digest.flushDue();
+
+        verify(emailSenderService, times(1)).sendDigest(any(), any(), any(), any());
+        assertEquals(0, digest.buffered());
+    }
+
+    @Test
+    void shouldSendEverythingBuffered_onShutdown() {
+        EmailDigest digest = digest(100, 1000, 100);
+        digest.offer(created("admin@movieapi.com", "Inception"));
+
+        digest.destroy();
+
+        verify(emailSenderService).sendDigest(eq("admin@movieapi.com"), eq("New Movie Created"), anyString(), anyList());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
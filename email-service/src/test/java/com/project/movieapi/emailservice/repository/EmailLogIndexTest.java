@@ -0,0 +1,162 @@
+package com.project.movieapi.emailservice.repository;
+
+import com.project.movieapi.emailservice.model.EmailLog;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexInformation;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.IndexQuery;
+import org.springframework.data.elasticsearch.core.reindex.ReindexRequest;
+import org.springframework.data.elasticsearch.core.reindex.ReindexResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailLogIndexTest {
+
+    private final ElasticsearchOperations operations = mock(ElasticsearchOperations.class);
+    private final Clock clock = Clock.fixed(Instant.parse("2026-10-17T12:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void indexFor_shouldNameIndexAfterTheDay_whenDaily() {
+        EmailLogIndex index = new EmailLogIndex(operations, clock, "daily", Duration.ofDays(30));
+
+        assertEquals("email-logs-2026.10.17", index.indexFor(LocalDateTime.parse("2026-10-17T23:59:59")).getIndexName());
+    }
+
+    @Test
+    void indexFor_shouldNameIndexAfterTheMonday_whenWeekly() {
+        EmailLogIndex index = new EmailLogIndex(operations, clock, "WEEKLY", Duration.ofDays(30));
+
+        assertEquals("email-logs-2026.10.12", index.indexFor(LocalDateTime.parse("2026-10-17T08:00:00")).getIndexName());
+        assertEquals("email-logs-2026.10.12", index.indexFor(LocalDateTime.parse("2026-10-12T00:00:00")).getIndexName());
+    }
+
+    @Test
+    void constructor_shouldRejectUnknownRollover() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new EmailLogIndex(operations, clock, "monthly", Duration.ofDays(30)));
+    }
+
+    @Test
+    void dropExpiredIndices_shouldDeleteOnlyIndicesPastRetention() {
+        IndexOperations all = givenIndices("email-logs-2026.09.16", "email-logs-2026.09.17", "email-logs-2026.10.17",
+                "email-logs-latest");
+        IndexOperations expired = mock(IndexOperations.class);
+        IndexOperations kept = mock(IndexOperations.class);
+        when(operations.indexOps(IndexCoordinates.of("email-logs-2026.09.16"))).thenReturn(expired);
+        when(operations.indexOps(IndexCoordinates.of("email-logs-2026.09.17"))).thenReturn(kept);
+
+        new EmailLogIndex(operations, clock, "daily", Duration.ofDays(30)).dropExpiredIndices();
+
+        verify(expired).delete();
+        verify(kept, never()).delete();
+        verify(all, never()).delete();
+    }
+
+    @Test
+    void dropExpiredIndices_shouldKeepAWeekUntilItsLastDayExpires() {
+        givenIndices("email-logs-2026.09.07", "email-logs-2026.09.14");
+        IndexOperations expired = mock(IndexOperations.class);
+        IndexOperations kept = mock(IndexOperations.class);
+        when(operations.indexOps(IndexCoordinates.of("email-logs-2026.09.07"))).thenReturn(expired);
+        when(operations.indexOps(IndexCoordinates.of("email-logs-2026.09.14"))).thenReturn(kept);
+
+        new EmailLogIndex(operations, clock, "weekly", Duration.ofDays(30)).dropExpiredIndices();
+
+        verify(expired).delete();
+        verify(kept, never()).delete();
+    }
+
+    @Test
+    void migrateLegacyIndex_shouldReindexIntoRollingIndicesAndDropTheOldOne() {
+        IndexOperations legacy = givenLegacyIndex(true);
+        when(operations.reindex(any(ReindexRequest.class))).thenReturn(ReindexResponse.builder()
+                .withCreated(3).withFailures(List.of()).build());
+
+        new EmailLogIndex(operations, clock, "weekly", Duration.ofDays(30)).migrateLegacyIndex();
+
+        ArgumentCaptor<ReindexRequest> request = ArgumentCaptor.forClass(ReindexRequest.class);
+        verify(operations).reindex(request.capture());
+        assertEquals("email_logs", request.getValue().getSource().getIndexes().getIndexName());
+        assertEquals(IndexQuery.OpType.CREATE, request.getValue().getDest().getOpType());
+        String script = request.getValue().getScript().getSource();
+        assertTrue(script.contains("ctx._index = 'email-logs-'"));
+        assertTrue(script.contains("if (true)"));
+        assertTrue(script.contains("ts = '2026-10-17T12:00:00.000'"));
+        verify(legacy).delete();
+    }
+
+    @Test
+    void migrateLegacyIndex_shouldKeepTheOldIndex_whenSomeDocumentsFailed() {
+        IndexOperations legacy = givenLegacyIndex(true);
+        when(operations.reindex(any(ReindexRequest.class))).thenReturn(ReindexResponse.builder()
+                .withFailures(List.of(ReindexResponse.Failure.builder().withId("1").build())).build());
+
+        new EmailLogIndex(operations, clock, "daily", Duration.ofDays(30)).migrateLegacyIndex();
+
+        verify(legacy, never()).delete();
+    }
+
+    @Test
+    void afterSingletonsInstantiated_shouldReindexWithoutBlockingStartup() throws InterruptedException {
+        when(operations.indexOps(EmailLog.class)).thenReturn(mock(IndexOperations.class));
+        IndexOperations legacy = givenLegacyIndex(true);
+        CountDownLatch reindexing = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        when(operations.reindex(any(ReindexRequest.class))).thenAnswer(invocation -> {
+            reindexing.countDown();
+            finish.await();
+            return ReindexResponse.builder().withCreated(3).withFailures(List.of()).build();
+        });
+
+        new EmailLogIndex(operations, clock, "daily", Duration.ofDays(30)).afterSingletonsInstantiated();
+
+        assertTrue(reindexing.await(5, TimeUnit.SECONDS));
+        verify(legacy, never()).delete();
+        finish.countDown();
+        verify(legacy, timeout(5000)).delete();
+    }
+
+    @Test
+    void migrateLegacyIndex_shouldDoNothing_whenThereIsNoOldIndex() {
+        givenLegacyIndex(false);
+
+        new EmailLogIndex(operations, clock, "daily", Duration.ofDays(30)).migrateLegacyIndex();
+
+        verify(operations, never()).reindex(any(ReindexRequest.class));
+    }
+
+    private IndexOperations givenLegacyIndex(boolean exists) {
+        IndexOperations legacy = mock(IndexOperations.class);
+        when(operations.indexOps(IndexCoordinates.of("email_logs"))).thenReturn(legacy);
+        when(legacy.exists()).thenReturn(exists);
+        return legacy;
+    }
+
+    private IndexOperations givenIndices(String... names) {
+        IndexOperations all = mock(IndexOperations.class);
+        when(operations.indexOps(IndexCoordinates.of("email-logs-*"))).thenReturn(all);
+        when(all.getInformation()).thenReturn(List.of(names).stream()
+                .map(name -> IndexInformation.of(name, null, null, null)).toList());
+        return all;
+    }
+}
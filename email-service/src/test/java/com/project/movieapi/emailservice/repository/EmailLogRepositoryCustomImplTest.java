@@ -0,0 +1,124 @@
+package com.project.movieapi.emailservice.repository;
+
+import com.project.movieapi.emailservice.model.EmailLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.convert.MappingElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.mapping.SimpleElasticsearchMappingContext;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailLogRepositoryCustomImplTest {
+
+    private final ElasticsearchOperations operations = mock(ElasticsearchOperations.class);
+    private EmailLogRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        MappingElasticsearchConverter converter = new MappingElasticsearchConverter(new SimpleElasticsearchMappingContext());
+        converter.afterPropertiesSet();
+        when(operations.getElasticsearchConverter()).thenReturn(converter);
+        repository = new EmailLogRepositoryCustomImpl(operations,
+                new EmailLogIndex(operations, Clock.systemDefaultZone(), "daily", Duration.ofDays(30)));
+    }
+
+    private EmailLog emailLog(String id, String createdAt) {
+        EmailLog emailLog = new EmailLog();
+        emailLog.setId(id);
+        emailLog.setRecipient("a@example.com");
+        emailLog.setSubject("New Movie Created");
+        emailLog.setContent("Inception");
+        emailLog.setCreatedAt(createdAt == null ? null : LocalDateTime.parse(createdAt));
+        return emailLog;
+    }
+
+    @Test
+    void insert_shouldWriteToTheIndexOfTheCreationDay() {
+        EmailLog emailLog = emailLog(null, "2026-10-17T10:15:00");
+
+        repository.insert(emailLog);
+
+        verify(operations).save(emailLog, IndexCoordinates.of("email-logs-2026.10.17"));
+    }
+
+    @Test
+    void insert_shouldStampIdAndCreatedAt_whenMissing() {
+        EmailLog emailLog = emailLog(null, null);
+
+        repository.insert(emailLog);
+
+        assertNotNull(emailLog.getId());
+        assertNotNull(emailLog.getCreatedAt());
+        assertEquals(emailLog.getId(), operations.getElasticsearchConverter().mapObject(emailLog).get("id"));
+    }
+
+    @Test
+    void updateStatus_shouldSendOnlyStatusFieldsIncludingClearedOnes() {
+        EmailLog emailLog = emailLog("7", "2026-10-17T10:15:00");
+        emailLog.setStatus("SENT");
+        emailLog.setAttemptCount(2);
+        emailLog.setLastAttemptTime(LocalDateTime.parse("2026-10-17T10:20:00"));
+
+        repository.updateStatus(emailLog);
+
+        ArgumentCaptor<UpdateQuery> captor = ArgumentCaptor.forClass(UpdateQuery.class);
+        verify(operations).update(captor.capture(), eq(IndexCoordinates.of("email-logs-2026.10.17")));
+        assertEquals("7", captor.getValue().getId());
+        Document document = captor.getValue().getDocument();
+        assertEquals("SENT", document.get("status"));
+        assertEquals(2, document.get("attemptCount"));
+        assertEquals("2026-10-17T10:20:00.000", document.get("lastAttemptTime"));
+        assertTrue(document.containsKey("errorMessage"));
+        assertNull(document.get("errorMessage"));
+        assertTrue(document.containsKey("nextAttemptTime"));
+        assertFalse(document.containsKey("content"));
+        assertFalse(document.containsKey("subject"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void updateStatuses_shouldBulkUpdatePerIndex() {
+        EmailLog yesterday = emailLog("1", "2026-10-16T23:59:00");
+        EmailLog today = emailLog("2", "2026-10-17T00:01:00");
+        EmailLog alsoToday = emailLog("3", "2026-10-17T09:00:00");
+
+        repository.updateStatuses(List.of(yesterday, today, alsoToday));
+
+        ArgumentCaptor<List<UpdateQuery>> captor = ArgumentCaptor.forClass(List.class);
+        verify(operations).bulkUpdate(captor.capture(), eq(IndexCoordinates.of("email-logs-2026.10.16")));
+        assertEquals(List.of("1"), captor.getValue().stream().map(UpdateQuery::getId).toList());
+        verify(operations).bulkUpdate(captor.capture(), eq(IndexCoordinates.of("email-logs-2026.10.17")));
+        assertEquals(List.of("2", "3"), captor.getValue().stream().map(UpdateQuery::getId).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insertAll_shouldBulkIndexPerIndex() {
+        EmailLog yesterday = emailLog(null, "2026-10-16T23:59:00");
+        EmailLog today = emailLog(null, "2026-10-17T00:01:00");
+
+        repository.insertAll(List.of(yesterday, today));
+
+        verify(operations).save(List.of(yesterday), IndexCoordinates.of("email-logs-2026.10.16"));
+        verify(operations).save(List.of(today), IndexCoordinates.of("email-logs-2026.10.17"));
+    }
+}
@@ -0,0 +1,33 @@
+package com.project.movieapi.emailservice.scheduler;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryPolicyTest {
+
+    private final RetryPolicy retryPolicy = new RetryPolicy(10,
+            List.of(Duration.ofMinutes(2), Duration.ofSeconds(30), Duration.ofMinutes(1), Duration.ofMinutes(1)));
+
+    @Test
+    void shouldSortAndDeduplicateTiers() {
+        assertEquals(List.of(Duration.ofSeconds(30), Duration.ofMinutes(1), Duration.ofMinutes(2)), retryPolicy.delayTiers());
+    }
+
+    @Test
+    void shouldUseNextTierForEachAttempt_andRepeatTheLast() {
+        assertEquals(Duration.ofSeconds(30), retryPolicy.delay(1));
+        assertEquals(Duration.ofMinutes(1), retryPolicy.delay(2));
+        assertEquals(Duration.ofMinutes(2), retryPolicy.delay(3));
+        assertEquals(Duration.ofMinutes(2), retryPolicy.delay(9));
+    }
+
+    @Test
+    void shouldBeExhaustedAtMaxAttempts() {
+        assertFalse(retryPolicy.isExhausted(9));
+        assertTrue(retryPolicy.isExhausted(10));
+    }
+}
@@ -3,14 +3,24 @@ package com.project.movieapi.emailservice.scheduler;
 import com.project.movieapi.emailservice.model.EmailLog;
 import com.project.movieapi.emailservice.repository.EmailLogRepository;
 import com.project.movieapi.emailservice.service.EmailSenderService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,40 +32,110 @@ class RetrySchedulerTest {
     @Mock
     private EmailSenderService emailSenderService;
 
-    @InjectMocks
     private RetryScheduler retryScheduler;
 
-    @Test
-    void shouldRetryEmail_whenAttemptsAreBelowMax() {
+    @BeforeEach
+    void setUp() {
+        RetryPolicy retryPolicy = new RetryPolicy(10, List.of(Duration.ofSeconds(30), Duration.ofMinutes(5)));
+        retryScheduler = new RetryScheduler(repository, emailSenderService, retryPolicy, 2, Duration.ofMinutes(10), Duration.ofMinutes(10));
+    }
+
+    private EmailLog failedEmail(String id, int attemptCount) {
         EmailLog email = new EmailLog();
-        email.setId("1");
-        email.setAttemptCount(5);
+        email.setId(id);
+        email.setAttemptCount(attemptCount);
         email.setStatus("FAILED");
+        return email;
+    }
+
+    private void givenDue(List<EmailLog> emails) {
+        when(repository.findByStatusAndNextAttemptTimeLessThanEqualOrderByNextAttemptTimeAsc(eq("FAILED"), any(LocalDateTime.class)))
+                .thenReturn(emails.stream());
+    }
 
-        when(repository.findByStatus("FAILED")).thenReturn(List.of(email));
+    @Test
+    void shouldRetryEmail_whenAttemptsAreBelowMax() {
+        EmailLog email = failedEmail("1", 5);
+        givenDue(List.of(email));
+        when(emailSenderService.trySend(email)).thenReturn(CompletableFuture.completedFuture(null));
 
         retryScheduler.retryFailedEmails();
 
         verify(emailSenderService, times(1)).trySend(email);
-        verify(repository, never()).save(any());
+        verify(repository, never()).updateStatus(any());
     }
 
     @Test
-    void shouldCancelEmail_whenMaxAttemptsReached() {
-        EmailLog email = new EmailLog();
-        email.setId("2");
-        email.setAttemptCount(10);
-        email.setStatus("FAILED");
+    void shouldRetryFailedEmail_withoutNextAttemptTime() {
+        EmailLog email = failedEmail("legacy", 1);
+        givenDue(List.of());
+        when(repository.findByStatusAndNextAttemptTimeIsNull("FAILED")).thenReturn(Stream.of(email));
+        when(emailSenderService.trySend(email)).thenReturn(CompletableFuture.completedFuture(null));
+
+        retryScheduler.retryFailedEmails();
+
+        verify(emailSenderService, times(1)).trySend(email);
+    }
+
+    @Test
+    void shouldSendPendingEmail_leftBehindPastTheGracePeriod() {
+        EmailLog email = failedEmail("stranded", 0);
+        email.setStatus("PENDING");
+        givenDue(List.of());
+        when(repository.findByStatusAndCreatedAtLessThanEqualOrderByCreatedAtAsc(eq("PENDING"), any(LocalDateTime.class)))
+                .thenReturn(Stream.of(email));
+        when(emailSenderService.trySend(email)).thenReturn(CompletableFuture.completedFuture(null));
+
+        LocalDateTime before = LocalDateTime.now();
+        retryScheduler.retryFailedEmails();
+
+        verify(emailSenderService, times(1)).trySend(email);
+        verify(repository).findByStatusAndCreatedAtLessThanEqualOrderByCreatedAtAsc(eq("PENDING"),
+                argThat(t -> !t.isAfter(before.minusMinutes(10).plusSeconds(1))));
+    }
 
-        when(repository.findByStatus("FAILED")).thenReturn(List.of(email));
+    @Test
+    void shouldCancelEmail_whenMaxAttemptsReached() {
+        EmailLog email = failedEmail("2", 10);
+        givenDue(List.of(email));
 
         retryScheduler.retryFailedEmails();
 
         verify(emailSenderService, never()).trySend(email);
 
-        verify(repository, times(1)).save(argThat(e ->
+        verify(repository, times(1)).updateStatus(argThat(e ->
                 e.getStatus().equals("CANCELLED") &&
                         e.getErrorMessage().contains("Max retry attempts reached")
         ));
     }
+
+    @Test
+    void shouldLimitConcurrentRetries_andWaitForThemToFinish() {
+        List<EmailLog> emails = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            emails.add(failedEmail(String.valueOf(i), 1));
+        }
+        givenDue(emails);
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        AtomicInteger finished = new AtomicInteger();
+        when(emailSenderService.trySend(any(EmailLog.class))).thenAnswer(i -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                finished.incrementAndGet();
+            });
+        });
+
+        retryScheduler.retryFailedEmails();
+
+        assertEquals(6, finished.get());
+        assertTrue(peak.get() <= 2);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,150 @@
+package com.project.movieapi.emailservice.sender;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SmtpConnectionPool pool;
+    private MailDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.destroy();
+        }
+        if (pool != null) {
+            pool.destroy();
+        }
+    }
+
+    private JavaMailSenderImpl mailSender(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        return mailSender;
+    }
+
+    private SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@moviereviews.com");
+        message.setTo(to);
+        message.setSubject("New Movie Created");
+        message.setText("Inception");
+        return message;
+    }
+
+    private void sendAll(List<SimpleMailMessage> messages) {
+        List<CompletableFuture<Void>> sends = new ArrayList<>();
+        messages.forEach(message -> sends.add(dispatcher.send(message)));
+        CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).join();
+    }
+
+    @Test
+    void shouldDeliverAllMessagesOverPooledConnections() {
+        pool = new SmtpConnectionPool(mailSender(greenMail.getSmtp().getPort()), meterRegistry, 2);
+        dispatcher = new MailDispatcher(pool, meterRegistry, 4, 100, 0, 1, 4);
+
+        List<SimpleMailMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            messages.add(message("user" + i + "@example.com"));
+        }
+        sendAll(messages);
+
+        assertEquals(30, greenMail.getReceivedMessages().length);
+        assertTrue(meterRegistry.get("email.sender.connections.opened").counter().count() <= 2);
+        assertEquals(30, meterRegistry.get("email.sender.send.latency").tag("outcome", "sent").timer().count());
+    }
+
+    @Test
+    void shouldFailFuture_whenRelayIsUnreachable() {
+        pool = new SmtpConnectionPool(mailSender(greenMail.getSmtp().getPort() + 1), meterRegistry, 1);
+        dispatcher = new MailDispatcher(pool, meterRegistry, 1, 10, 0, 1, 1);
+
+        CompletionException e = assertThrows(CompletionException.class,
+                () -> dispatcher.send(message("user@example.com")).join());
+
+        assertInstanceOf(MailSendException.class, e.getCause());
+        assertEquals(1, meterRegistry.get("email.sender.send.latency").tag("outcome", "failed").timer().count());
+    }
+
+    @Test
+    void shouldCapConcurrentSendsPerRecipientDomain() {
+        Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> peak = new ConcurrentHashMap<>();
+        pool = new SmtpConnectionPool(mailSender(greenMail.getSmtp().getPort()), meterRegistry, 8) {
+            @Override
+            public void send(SimpleMailMessage message) throws InterruptedException {
+                String domain = message.getTo()[0].substring(message.getTo()[0].indexOf('@') + 1);
+                int current = inFlight.computeIfAbsent(domain, d -> new AtomicInteger()).incrementAndGet();
+                peak.computeIfAbsent(domain, d -> new AtomicInteger()).accumulateAndGet(current, Math::max);
+                Thread.sleep(20);
+                inFlight.get(domain).decrementAndGet();
+            }
+        };
+        dispatcher = new MailDispatcher(pool, meterRegistry, 8, 100, 0, 1, 2);
+
+        List<SimpleMailMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            messages.add(message("user" + i + "@gmail.com"));
+            messages.add(message("user" + i + "@outlook.com"));
+        }
+        sendAll(messages);
+
+        assertTrue(peak.get("gmail.com").get() <= 2);
+        assertTrue(peak.get("outlook.com").get() <= 2);
+        assertEquals(0, meterRegistry.get("email.sender.domains.active").gauge().value());
+    }
+
+    @Test
+    void shouldNotHoldOtherDomains_behindASlowDomain() throws Exception {
+        CountDownLatch slowRelay = new CountDownLatch(1);
+        pool = new SmtpConnectionPool(mailSender(greenMail.getSmtp().getPort()), meterRegistry, 2) {
+            @Override
+            public void send(SimpleMailMessage message) throws InterruptedException {
+                if (message.getTo()[0].endsWith("@slow.com")) {
+                    slowRelay.await();
+                }
+            }
+        };
+        dispatcher = new MailDispatcher(pool, meterRegistry, 2, 100, 0, 1, 1);
+
+        List<CompletableFuture<Void>> slow = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            slow.add(dispatcher.send(message("user" + i + "@slow.com")));
+        }
+        CompletableFuture<Void> fast = dispatcher.send(message("user@fast.com"));
+
+        try {
+            fast.get(5, TimeUnit.SECONDS);
+            assertTrue(slow.stream().noneMatch(CompletableFuture::isDone));
+        } finally {
+            slowRelay.countDown();
+        }
+        CompletableFuture.allOf(slow.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,48 @@
+package com.project.movieapi.emailservice.sender;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void shouldAllowBurstWithoutWaiting() {
+        TokenBucket bucket = new TokenBucket(10, 3, clock::get);
+
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), bucket.reserve());
+    }
+
+    @Test
+    void shouldRefillAtConfiguredRateUpToBurst() {
+        TokenBucket bucket = new TokenBucket(10, 2, clock::get);
+        bucket.reserve();
+        bucket.reserve();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(0, bucket.reserve());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        assertEquals(0, bucket.reserve());
+        assertEquals(0, bucket.reserve());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), bucket.reserve());
+    }
+
+    @Test
+    void shouldNeverWait_whenRateIsUnlimited() {
+        TokenBucket bucket = new TokenBucket(0, 1, clock::get);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, bucket.reserve());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.project.movieapi.emailservice.service;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.ArrayPercentilesItem;
+import co.elastic.clients.elasticsearch._types.aggregations.DateHistogramBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import com.project.movieapi.emailservice.dto.EmailLogListResponseDto;
+import com.project.movieapi.emailservice.dto.EmailLogStatsDto;
+import com.project.movieapi.emailservice.exception.InvalidCursorException;
+import com.project.movieapi.emailservice.model.EmailLog;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailLogSearchServiceTest {
+
+    private final ElasticsearchOperations operations = mock(ElasticsearchOperations.class);
+    private final EmailLogSearchService searchService = new EmailLogSearchService(operations);
+
+    @SuppressWarnings("unchecked")
+    private void givenHits(int count) {
+        List<SearchHit<EmailLog>> hits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            SearchHit<EmailLog> hit = mock(SearchHit.class);
+            EmailLog emailLog = new EmailLog();
+            emailLog.setId("log-" + i);
+            when(hit.getContent()).thenReturn(emailLog);
+            when(hit.getSortValues()).thenReturn(List.of(1760700000000L - i, "log-" + i));
+            hits.add(hit);
+        }
+        SearchHits<EmailLog> searchHits = mock(SearchHits.class);
+        when(searchHits.getSearchHits()).thenReturn(hits);
+        when(operations.search(any(NativeQuery.class), eq(EmailLog.class))).thenReturn(searchHits);
+    }
+
+    private NativeQuery capturedQuery() {
+        ArgumentCaptor<NativeQuery> captor = ArgumentCaptor.forClass(NativeQuery.class);
+        verify(operations).search(captor.capture(), eq(EmailLog.class));
+        return captor.getValue();
+    }
+
+    @Test
+    void search_shouldReturnCursor_whenPageIsFull() {
+        givenHits(2);
+
+        EmailLogListResponseDto page = searchService.search("a@example.com", "FAILED", null, null, 2, null);
+
+        assertEquals(2, page.getList().size());
+        assertNotNull(page.getNextCursor());
+        NativeQuery query = capturedQuery();
+        assertEquals(2, query.getMaxResults());
+        assertEquals(2, query.getSortOptions().size());
+        assertArrayEquals(new String[]{"content"}, query.getSourceFilter().getExcludes());
+        assertEquals(2, query.getQuery().bool().filter().size());
+    }
+
+    @Test
+    void search_shouldContinueAfterCursor() {
+        givenHits(2);
+        String cursor = searchService.search(null, null, null, null, 2, null).getNextCursor();
+
+        searchService.search(null, null, null, null, 2, cursor);
+
+        ArgumentCaptor<NativeQuery> captor = ArgumentCaptor.forClass(NativeQuery.class);
+        verify(operations, times(2)).search(captor.capture(), eq(EmailLog.class));
+        assertEquals(List.of(1760699999999L, "log-1"), captor.getValue().getSearchAfter());
+    }
+
+    @Test
+    void search_shouldNotReturnCursor_onLastPage() {
+        givenHits(1);
+
+        assertNull(searchService.search(null, null, null, null, 50, null).getNextCursor());
+    }
+
+    @Test
+    void search_shouldCapPageSize() {
+        givenHits(0);
+
+        searchService.search(null, null, null, null, 100_000, null);
+
+        assertEquals(EmailLogSearchService.MAX_PAGE_SIZE, capturedQuery().getMaxResults());
+    }
+
+    @Test
+    void search_shouldRejectMalformedCursor() {
+        assertThrows(InvalidCursorException.class, () -> searchService.search(null, null, null, null, 10, "bm9wZQ"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void stats_shouldReadAggregations() {
+        Aggregate statuses = Aggregate.of(a -> a.sterms(t -> t.buckets(b -> b.array(List.of(
+                StringTermsBucket.of(sb -> sb.key("SENT").docCount(2)),
+                StringTermsBucket.of(sb -> sb.key("FAILED").docCount(1)))))));
+        Aggregate hourly = Aggregate.of(a -> a.dateHistogram(h -> h.buckets(b -> b.array(List.of(
+                DateHistogramBucket.of(d -> d.key(1760695200000L).docCount(3).aggregations(Map.of("statuses", statuses))))))));
+        Aggregate topErrors = Aggregate.of(a -> a.sterms(t -> t.buckets(b -> b.array(List.of(
+                StringTermsBucket.of(sb -> sb.key("MailSendException: Server is down").docCount(5)))))));
+        Aggregate attempts = Aggregate.of(a -> a.tdigestPercentiles(p -> p.values(v -> v.array(List.of(
+                ArrayPercentilesItem.of(i -> i.key(95.0).value(4.0)))))));
+        SearchHits<EmailLog> searchHits = mock(SearchHits.class);
+        when(searchHits.getTotalHits()).thenReturn(8L);
+        doReturn(new ElasticsearchAggregations(Map.of("hourly", hourly, "topErrors", topErrors, "attempts", attempts)))
+                .when(searchHits).getAggregations();
+        when(operations.search(any(NativeQuery.class), eq(EmailLog.class))).thenReturn(searchHits);
+
+        EmailLogStatsDto stats = searchService.stats(null, LocalDateTime.parse("2026-10-17T00:00:00"), null, 10);
+
+        assertEquals(8, stats.getTotal());
+        assertEquals(1, stats.getHourly().size());
+        assertEquals(LocalDateTime.parse("2025-10-17T10:00:00"), stats.getHourly().get(0).getHour());
+        assertEquals(Map.of("SENT", 2L, "FAILED", 1L), stats.getHourly().get(0).getStatuses());
+        assertEquals("MailSendException: Server is down", stats.getTopErrors().get(0).getErrorMessage());
+        assertEquals(5, stats.getTopErrors().get(0).getCount());
+        assertEquals(4.0, stats.getP95Attempts());
+        NativeQuery query = capturedQuery();
+        assertEquals(0, query.getMaxResults());
+        assertTrue(query.getAggregations().keySet().containsAll(List.of("hourly", "topErrors", "attempts")));
+    }
+}
@@ -1,28 +1,46 @@
 package com.project.movieapi.emailservice.service;
 
+import com.project.movieapi.emailservice.dto.EmailRequestDto;
 import com.project.movieapi.emailservice.model.EmailLog;
 import com.project.movieapi.emailservice.repository.EmailLogRepository;
+import com.project.movieapi.emailservice.scheduler.RetryPolicy;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import com.project.movieapi.emailservice.sender.MailDispatcher;
+import org.springframework.mail.MailAuthenticationException;
 import org.springframework.mail.MailSendException;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class EmailSenderServiceTest {
 
     @Mock
-    private JavaMailSender javaMailSender;
+    private MailDispatcher mailDispatcher;
 
     @Mock
     private EmailLogRepository repository;
 
+    @Mock
+    private RetryPolicy retryPolicy;
+
+    @Mock
+    private RetryPublisher retryPublisher;
+
     @InjectMocks
     private EmailSenderService emailService;
 
@@ -32,30 +50,198 @@ class EmailSenderServiceTest {
         String subject = "Hello";
         String content = "World";
 
-        when(repository.save(any(EmailLog.class))).thenAnswer(i -> i.getArguments()[0]);
+        when(repository.insert(any(EmailLog.class))).thenAnswer(i -> i.getArguments()[0]);
+        when(mailDispatcher.send(any(SimpleMailMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
 
-        emailService.processEmail(to, subject, content);
+        emailService.processEmail(to, subject, content).join();
 
-        verify(javaMailSender, times(1)).send(any(SimpleMailMessage.class));
+        verify(mailDispatcher, times(1)).send(any(SimpleMailMessage.class));
 
-        verify(repository, times(2)).save(argThat(log ->
-                (log.getStatus().equals("PENDING") || log.getStatus().equals("SENT"))
-        ));
+        verify(repository, times(1)).insert(argThat(log -> log.getCreatedAt() != null));
+        verify(repository, times(1)).updateStatus(argThat(log -> log.getStatus().equals("SENT")));
+        verify(repository, never()).save(any());
     }
 
     @Test
     void processEmail_shouldSetStatusFailed_whenMailSenderThrowsException() {
         String to = "fail@example.com";
 
-        when(repository.save(any(EmailLog.class))).thenAnswer(i -> i.getArguments()[0]);
+        when(repository.insert(any(EmailLog.class))).thenAnswer(i -> i.getArguments()[0]);
 
-        doThrow(new MailSendException("Server is down"))
-                .when(javaMailSender).send(any(SimpleMailMessage.class));
+        when(mailDispatcher.send(any(SimpleMailMessage.class)))
+                .thenReturn(CompletableFuture.failedFuture(new MailSendException("Server is down")));
 
-        emailService.processEmail(to, "Subj", "Text");
+        emailService.processEmail(to, "Subj", "Text").join();
 
-        verify(repository, atLeastOnce()).save(argThat(log ->
+        verify(repository, atLeastOnce()).updateStatus(argThat(log ->
                 log.getStatus().equals("FAILED") && log.getErrorMessage().contains("Server is down")
         ));
     }
+
+    @Test
+    void trySend_shouldScheduleNextAttempt_whenSendFails() {
+        EmailLog emailLog = new EmailLog();
+        emailLog.setAttemptCount(2);
+        LocalDateTime nextAttempt = LocalDateTime.now().plusMinutes(2);
+        when(retryPolicy.nextAttemptTime(3)).thenReturn(nextAttempt);
+        when(mailDispatcher.send(any(SimpleMailMessage.class)))
+                .thenReturn(CompletableFuture.failedFuture(new MailSendException("Server is down")));
+
+        emailService.trySend(emailLog).join();
+
+        assertEquals("FAILED", emailLog.getStatus());
+        assertEquals(3, emailLog.getAttemptCount());
+        assertEquals(nextAttempt, emailLog.getNextAttemptTime());
+        verify(repository).updateStatus(emailLog);
+        verify(retryPublisher).schedule(emailLog);
+    }
+
+    @Test
+    void trySend_shouldCancel_whenLastAttemptFails() {
+        EmailLog emailLog = new EmailLog();
+        emailLog.setAttemptCount(9);
+        when(retryPolicy.isExhausted(10)).thenReturn(true);
+        when(mailDispatcher.send(any(SimpleMailMessage.class)))
+                .thenReturn(CompletableFuture.failedFuture(new MailSendException("Server is down")));
+
+        emailService.trySend(emailLog).join();
+
+        assertEquals("CANCELLED", emailLog.getStatus());
+        assertNull(emailLog.getNextAttemptTime());
+        verify(retryPolicy, never()).nextAttemptTime(anyInt());
+        verify(retryPublisher, never()).schedule(any());
+    }
+
+    @Test
+    void retry_shouldSendAgain_whenLogIsStillFailedAtThatAttempt() {
+        EmailLog emailLog = new EmailLog();
+        emailLog.setId("7");
+        emailLog.setStatus("FAILED");
+        emailLog.setAttemptCount(3);
+        when(repository.findLogById("7")).thenReturn(Optional.of(emailLog));
+        when(mailDispatcher.send(any(SimpleMailMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        emailService.retry("7", 3).join();
+
+        assertEquals("SENT", emailLog.getStatus());
+        assertEquals(4, emailLog.getAttemptCount());
+        verify(retryPublisher, never()).schedule(any());
+    }
+
+    @Test
+    void retry_shouldSkip_whenLogHasMovedOn() {
+        EmailLog emailLog = new EmailLog();
+        emailLog.setId("7");
+        emailLog.setStatus("FAILED");
+        emailLog.setAttemptCount(4);
+        when(repository.findLogById("7")).thenReturn(Optional.of(emailLog));
+
+        emailService.retry("7", 3).join();
+
+        verify(mailDispatcher, never()).send(any());
+        verify(repository, never()).updateStatus(any());
+    }
+
+    private List<EmailRequestDto> batch() {
+        return List.of(
+                new EmailRequestDto("a@example.com", "New Movie Created", "Inception"),
+                new EmailRequestDto("b@example.com", "New Movie Created", "Tenet"),
+                new EmailRequestDto("c@example.com", "New Movie Created", "Dunkirk"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<EmailLog> captureStatusUpdates() {
+        ArgumentCaptor<List<EmailLog>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(1)).updateStatuses(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    void processBatch_shouldUseBulkWrites_whenSuccess() {
+        when(repository.insertAll(anyList())).thenAnswer(i -> i.getArguments()[0]);
+        when(mailDispatcher.send(any(SimpleMailMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        emailService.processBatch(batch());
+
+        verify(mailDispatcher, times(3)).send(any(SimpleMailMessage.class));
+        verify(repository, times(1)).insertAll(anyList());
+        verify(repository, never()).updateStatus(any(EmailLog.class));
+        List<EmailLog> flushed = captureStatusUpdates();
+        assertEquals(3, flushed.size());
+        assertTrue(flushed.stream().allMatch(log -> log.getStatus().equals("SENT") && log.getAttemptCount() == 1));
+    }
+
+    @Test
+    void processBatch_shouldMarkOnlyRejectedMessagesFailed() {
+        when(repository.insertAll(anyList())).thenAnswer(i -> i.getArguments()[0]);
+        when(mailDispatcher.send(any(SimpleMailMessage.class))).thenAnswer(i -> {
+            SimpleMailMessage message = i.getArgument(0);
+            return "b@example.com".equals(message.getTo()[0])
+                    ? CompletableFuture.failedFuture(new MailSendException("Mailbox unavailable"))
+                    : CompletableFuture.completedFuture(null);
+        });
+
+        emailService.processBatch(batch());
+
+        List<EmailLog> flushed = captureStatusUpdates();
+        assertEquals("SENT", flushed.get(0).getStatus());
+        assertEquals("FAILED", flushed.get(1).getStatus());
+        assertTrue(flushed.get(1).getErrorMessage().contains("Mailbox unavailable"));
+        assertEquals("SENT", flushed.get(2).getStatus());
+        verify(retryPublisher, times(1)).schedule(flushed.get(1));
+    }
+
+    @Test
+    void processBatch_shouldMarkAllFailed_whenConnectionFails() {
+        when(repository.insertAll(anyList())).thenAnswer(i -> i.getArguments()[0]);
+        when(mailDispatcher.send(any(SimpleMailMessage.class)))
+                .thenReturn(CompletableFuture.failedFuture(new MailAuthenticationException("Bad credentials")));
+
+        emailService.processBatch(batch());
+
+        List<EmailLog> flushed = captureStatusUpdates();
+        assertTrue(flushed.stream().allMatch(log -> log.getStatus().equals("FAILED")
+                && log.getErrorMessage().contains("Bad credentials")));
+    }
+
+    @Test
+    void recordAll_shouldWritePendingLogsWithoutSending() {
+        when(repository.insertAll(anyList())).thenAnswer(i -> i.getArguments()[0]);
+
+        List<EmailLog> recorded = emailService.recordAll(batch());
+
+        assertTrue(recorded.stream().allMatch(log -> log.getStatus().equals("PENDING") && log.getAttemptCount() == 0));
+        verifyNoInteractions(mailDispatcher);
+    }
+
+    @Test
+    void sendDigest_shouldMarkEveryLogSent_withOneMail() {
+        List<EmailLog> digest = List.of(new EmailLog(), new EmailLog());
+        digest.forEach(log -> log.setAttemptCount(0));
+        when(mailDispatcher.send(any(SimpleMailMessage.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        emailService.sendDigest("a@example.com", "New Movie Created (2)", "Inception\n\nTenet", digest).join();
+
+        verify(mailDispatcher, times(1)).send(argThat(message -> message.getText().equals("Inception\n\nTenet")));
+        assertSame(digest, captureStatusUpdates());
+        assertTrue(digest.stream().allMatch(log -> log.getStatus().equals("SENT") && log.getAttemptCount() == 1));
+    }
+
+    @Test
+    void sendDigest_shouldScheduleEveryLogForRetry_whenMailFails() {
+        List<EmailLog> digest = List.of(new EmailLog(), new EmailLog());
+        digest.forEach(log -> log.setAttemptCount(0));
+        LocalDateTime nextAttempt = LocalDateTime.now().plusSeconds(30);
+        when(retryPolicy.nextAttemptTime(1)).thenReturn(nextAttempt);
+        when(mailDispatcher.send(any(SimpleMailMessage.class)))
+                .thenReturn(CompletableFuture.failedFuture(new MailSendException("Server is down")));
+
+        emailService.sendDigest("a@example.com", "New Movie Created (2)", "Inception\n\nTenet", digest).join();
+
+        assertSame(digest, captureStatusUpdates());
+        assertTrue(digest.stream().allMatch(log -> log.getStatus().equals("FAILED")
+                && nextAttempt.equals(log.getNextAttemptTime())));
+        verify(retryPublisher).schedule(digest.get(0));
+        verify(retryPublisher).schedule(digest.get(1));
+    }
 }
\ No newline at end of file
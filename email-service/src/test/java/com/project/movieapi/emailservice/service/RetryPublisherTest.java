@@ -0,0 +1,67 @@
+package com.project.movieapi.emailservice.service;
+
+import com.project.movieapi.emailservice.dto.EmailRequestDto;
+import com.project.movieapi.emailservice.model.EmailLog;
+import com.project.movieapi.emailservice.scheduler.RetryPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RetryPublisherTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private final RetryPolicy retryPolicy = new RetryPolicy(10, List.of(Duration.ofSeconds(30), Duration.ofMinutes(5)));
+
+    private EmailLog failedEmail(int attemptCount) {
+        EmailLog emailLog = new EmailLog();
+        emailLog.setId("42");
+        emailLog.setRecipient("admin@movieapi.com");
+        emailLog.setSubject("New Movie Created");
+        emailLog.setContent("Inception");
+        emailLog.setStatus("FAILED");
+        emailLog.setAttemptCount(attemptCount);
+        return emailLog;
+    }
+
+    @Test
+    void shouldPublishToDelayQueueOfTheAttempt_withLogIdAndAttemptHeaders() {
+        new RetryPublisher(rabbitTemplate, retryPolicy).schedule(failedEmail(2));
+
+        ArgumentCaptor<MessagePostProcessor> postProcessor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(rabbitTemplate).convertAndSend(eq(""), eq("email_queue.retry.300s"),
+                eq(new EmailRequestDto("admin@movieapi.com", "New Movie Created", "Inception")), postProcessor.capture());
+
+        Message message = postProcessor.getValue().postProcessMessage(new Message(new byte[0], new MessageProperties()));
+        assertEquals("42", message.getMessageProperties().getHeader(RetryPublisher.LOG_ID_HEADER));
+        assertEquals(2, (Integer) message.getMessageProperties().getHeader(RetryPublisher.ATTEMPT_HEADER));
+    }
+
+    @Test
+    void shouldNotThrow_whenBrokerIsDown() {
+        doThrow(new AmqpConnectException(new ConnectException("Connection refused")))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(MessagePostProcessor.class));
+
+        assertDoesNotThrow(() -> new RetryPublisher(rabbitTemplate, retryPolicy).schedule(failedEmail(1)));
+    }
+}
@@ -0,0 +1,16 @@
+package com.project.movieapi.moviegateway.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Instant;
+
+public record CachedResponse(int status, HttpHeaders headers, byte[] body, Instant storedAt, Instant expiresAt) {
+
+    public boolean isFresh(Instant now) {
+        return now.isBefore(expiresAt);
+    }
+
+    public String etag() {
+        return headers.getETag();
+    }
+}
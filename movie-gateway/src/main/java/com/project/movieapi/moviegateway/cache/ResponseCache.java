@@ -0,0 +1,61 @@
+package com.project.movieapi.moviegateway.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// LRU store bounded by the total size of the cached bodies. Keys start with the route id, so a route can be evicted at once.
+@Component
+public class ResponseCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    public ResponseCache(@Value("${gateway.cache.max-size:64MB}") DataSize maxSize) {
+        this.maxBytes = maxSize.toBytes();
+    }
+
+    public synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, CachedResponse response) {
+        if (response.body().length > maxBytes) {
+            return;
+        }
+        CachedResponse previous = entries.put(key, response);
+        if (previous != null) {
+            bytes -= previous.body().length;
+        }
+        bytes += response.body().length;
+        Iterator<CachedResponse> eldest = entries.values().iterator();
+        while (bytes > maxBytes) {
+            bytes -= eldest.next().body().length;
+            eldest.remove();
+        }
+    }
+
+    public synchronized void evictRoute(String routeId) {
+        Iterator<Map.Entry<String, CachedResponse>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, CachedResponse> entry = it.next();
+            if (entry.getKey().startsWith(routeId + " ")) {
+                bytes -= entry.getValue().body().length;
+                it.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+}
@@ -0,0 +1,314 @@
+package com.project.movieapi.moviegateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Serves GETs from ResponseCache and coalesces concurrent misses: the first request for a key goes upstream, the others
+// wait for its response and are served from the cache, or go upstream themselves as soon as its headers show it is not
+// cacheable. Responses are cached for their s-maxage/max-age, or default-ttl when the backend sends no Cache-Control;
+// no-store, private, no-cache, Set-Cookie and Vary on anything but Accept, Origin or the CORS preflight headers keep a
+// response out. Streams (SSE, NDJSON) are never cached or coalesced. A successful write through a route
+// evicts everything cached for that route; POSTs to query endpoints such as /_list or /_batch are reads and don't.
+@Component
+public class ResponseCacheFilter implements GatewayFilter, Ordered {
+
+    private static final String CACHE_HEADER = "X-Cache";
+    // Per-request headers that the CORS filter and the server add again on every response
+    private static final Set<String> UNCACHED_HEADERS = Set.of(HttpHeaders.TRANSFER_ENCODING.toLowerCase(Locale.ROOT),
+            HttpHeaders.CONNECTION.toLowerCase(Locale.ROOT), "keep-alive", HttpHeaders.DATE.toLowerCase(Locale.ROOT),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(Locale.ROOT), HttpHeaders.VARY.toLowerCase(Locale.ROOT));
+    // Spring's CORS support adds the preflight headers to Vary on every response; they never change a GET's body
+    private static final Set<String> ALLOWED_VARY = Set.of("accept", "accept-encoding", "origin",
+            "access-control-request-method", "access-control-request-headers");
+    private static final List<MediaType> STREAMING_TYPES = List.of(MediaType.TEXT_EVENT_STREAM,
+            MediaType.APPLICATION_NDJSON);
+
+    private final ResponseCache cache;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Duration defaultTtl;
+    private final long maxEntryBytes;
+    private final ConcurrentMap<String, Sinks.One<Optional<CachedResponse>>> inFlight = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ResponseCacheFilter(ResponseCache cache,
+                               @Value("${gateway.cache.enabled:true}") boolean enabled,
+                               @Value("${gateway.cache.default-ttl:10s}") Duration defaultTtl,
+                               @Value("${gateway.cache.max-entry-size:1MB}") DataSize maxEntrySize) {
+        this(cache, Clock.systemUTC(), enabled, defaultTtl, maxEntrySize);
+    }
+
+    ResponseCacheFilter(ResponseCache cache, Clock clock, boolean enabled, Duration defaultTtl, DataSize maxEntrySize) {
+        this.cache = cache;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.defaultTtl = defaultTtl;
+        this.maxEntryBytes = maxEntrySize.toBytes();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        String routeId = routeId(exchange);
+        if (request.getMethod() == HttpMethod.HEAD || request.getMethod() == HttpMethod.OPTIONS) {
+            return chain.filter(exchange);
+        }
+        if (request.getMethod() != HttpMethod.GET) {
+            if (isQuery(request)) {
+                return chain.filter(exchange);
+            }
+            return chain.filter(exchange).then(Mono.fromRunnable(() -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (status != null && status.is2xxSuccessful()) {
+                    cache.evictRoute(routeId);
+                }
+            }));
+        }
+        if (bypassesCache(request.getHeaders()) || acceptsStream(request.getHeaders())) {
+            return chain.filter(exchange);
+        }
+
+        String key = routeId + " " + request.getURI().getRawPath()
+                + (request.getURI().getRawQuery() != null ? "?" + request.getURI().getRawQuery() : "")
+                + " " + String.join(",", request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT));
+        CachedResponse cached = cache.get(key);
+        if (cached != null && cached.isFresh(clock.instant())) {
+            return serve(exchange, cached);
+        }
+
+        Sinks.One<Optional<CachedResponse>> sink = Sinks.one();
+        Sinks.One<Optional<CachedResponse>> leader = inFlight.putIfAbsent(key, sink);
+        if (leader != null) {
+            return leader.asMono().flatMap(response -> response.isPresent()
+                    ? serve(exchange, response.get())
+                    : chain.filter(exchange));
+        }
+        return fetch(exchange, chain, key, sink);
+    }
+
+    private Mono<Void> fetch(ServerWebExchange exchange, GatewayFilterChain chain, String key,
+                             Sinks.One<Optional<CachedResponse>> sink) {
+        // The leader asks for the full response so it can be cached; conditional headers are answered from the entry
+        ServerHttpRequest upstream = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                })
+                .build();
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().set(CACHE_HEADER, "MISS");
+        ServerHttpResponseDecorator capturing = new ServerHttpResponseDecorator(response) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                Instant now = clock.instant();
+                Duration ttl = ttl(getStatusCode(), getHeaders());
+                long contentLength = getHeaders().getContentLength();
+                if (ttl == null || contentLength > maxEntryBytes) {
+                    release(key, sink);
+                    return super.writeWith(body);
+                }
+                HttpHeaders stored = storedHeaders(getHeaders());
+                int status = getStatusCode().value();
+                BodyCapture capture = new BodyCapture(maxEntryBytes);
+                Flux<DataBuffer> copied = Flux.from(body).map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    if (!capture.add(bytes)) {
+                        release(key, sink);
+                    }
+                    return bufferFactory().wrap(bytes);
+                }).doOnComplete(() -> {
+                    byte[] captured = capture.bytes();
+                    if (captured != null) {
+                        CachedResponse entry = new CachedResponse(status, stored, captured, now, now.plus(ttl));
+                        cache.put(key, entry);
+                        sink.tryEmitValue(Optional.of(entry));
+                    }
+                });
+                return super.writeWith(copied);
+            }
+
+            // Streaming responses are flushed chunk by chunk and may stay open for minutes; waiters must not wait
+            @Override
+            public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                release(key, sink);
+                return super.writeAndFlushWith(body);
+            }
+        };
+        return chain.filter(exchange.mutate().request(upstream).response(capturing).build())
+                .doFinally(signal -> release(key, sink));
+    }
+
+    // Sends waiters upstream themselves; a no-op once the sink holds the cached entry
+    private void release(String key, Sinks.One<Optional<CachedResponse>> sink) {
+        inFlight.remove(key, sink);
+        sink.tryEmitValue(Optional.empty());
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().putAll(cached.headers());
+        response.getHeaders().set(CACHE_HEADER, "HIT");
+        response.getHeaders().set(HttpHeaders.AGE,
+                Long.toString(Duration.between(cached.storedAt(), clock.instant()).toSeconds()));
+        String etag = cached.etag();
+        if (etag != null && exchange.getRequest().getHeaders().getIfNoneMatch().contains(etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        response.getHeaders().setContentLength(cached.body().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.body())));
+    }
+
+    // Returns null when the response must not be stored
+    private Duration ttl(HttpStatusCode status, HttpHeaders headers) {
+        if (status == null || status.value() != HttpStatus.OK.value() || headers.containsHeader(HttpHeaders.SET_COOKIE)) {
+            return null;
+        }
+        for (String vary : headers.getVary()) {
+            if (!ALLOWED_VARY.contains(vary.trim().toLowerCase(Locale.ROOT))) {
+                return null;
+            }
+        }
+        Duration maxAge = null;
+        Duration sharedMaxAge = null;
+        for (String directive : directives(headers)) {
+            if (directive.equals("no-store") || directive.equals("private") || directive.equals("no-cache")) {
+                return null;
+            } else if (directive.startsWith("max-age=")) {
+                maxAge = seconds(directive.substring("max-age=".length()));
+            } else if (directive.startsWith("s-maxage=")) {
+                sharedMaxAge = seconds(directive.substring("s-maxage=".length()));
+            }
+        }
+        Duration ttl = sharedMaxAge != null ? sharedMaxAge : maxAge != null ? maxAge : defaultTtl;
+        return ttl.isZero() || ttl.isNegative() ? null : ttl;
+    }
+
+    // The backends expose read-only POSTs as "_"-prefixed actions: _list, _batch, _report, _counts
+    private static boolean isQuery(ServerHttpRequest request) {
+        String path = request.getURI().getRawPath();
+        return request.getMethod() == HttpMethod.POST && path.substring(path.lastIndexOf('/') + 1).startsWith("_");
+    }
+
+    private static boolean bypassesCache(HttpHeaders headers) {
+        List<String> directives = directives(headers);
+        return directives.contains("no-cache") || directives.contains("no-store")
+                || headers.getOrEmpty("Pragma").contains("no-cache");
+    }
+
+    // A wildcard Accept alone doesn't count: only clients that explicitly ask for a stream get one
+    private static boolean acceptsStream(HttpHeaders headers) {
+        for (MediaType accepted : headers.getAccept()) {
+            for (MediaType streaming : STREAMING_TYPES) {
+                if (!accepted.isWildcardType() && !accepted.isWildcardSubtype() && accepted.isCompatibleWith(streaming)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static List<String> directives(HttpHeaders headers) {
+        return headers.getOrEmpty(HttpHeaders.CACHE_CONTROL).stream()
+                .flatMap(value -> List.of(value.split(",")).stream())
+                .map(directive -> directive.trim().toLowerCase(Locale.ROOT))
+                .toList();
+    }
+
+    private static Duration seconds(String value) {
+        try {
+            return Duration.ofSeconds(Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            return Duration.ZERO;
+        }
+    }
+
+    private static HttpHeaders storedHeaders(HttpHeaders headers) {
+        HttpHeaders stored = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (!UNCACHED_HEADERS.contains(lower) && !lower.startsWith("access-control-") && !lower.equals("x-cache")) {
+                stored.put(name, List.copyOf(values));
+            }
+        });
+        return stored;
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "";
+    }
+
+    // Copies the body as it streams through, up to maxEntryBytes; a larger body is passed on but not cached
+    private static final class BodyCapture {
+        private final long limit;
+        private ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        BodyCapture(long limit) {
+            this.limit = limit;
+        }
+
+        // False once the body has outgrown the limit
+        boolean add(byte[] chunk) {
+            if (bytes == null) {
+                return false;
+            }
+            if (bytes.size() + chunk.length > limit) {
+                bytes = null;
+                return false;
+            }
+            bytes.write(chunk, 0, chunk.length);
+            return true;
+        }
+
+        byte[] bytes() {
+            return bytes != null ? bytes.toByteArray() : null;
+        }
+    }
+
+    // Runs before NettyWriteResponseFilter writes the backend response, so the body passes through the decorator
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+}
@@ -3,6 +3,7 @@ package com.project.movieapi.moviegateway.config;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
@@ -13,8 +14,23 @@ import reactor.core.publisher.Mono;
 @Component
 public class AuthorizationFilter implements GlobalFilter, Ordered {
 
+    private final IdentityHeaderSigner identitySigner;
+
+    public AuthorizationFilter(IdentityHeaderSigner identitySigner) {
+        this.identitySigner = identitySigner;
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        // Only the gateway may assert an identity, whatever the client sent is dropped
+        if (exchange.getRequest().getHeaders().containsHeader(IdentityHeaderSigner.HEADER)) {
+            ServerHttpRequest stripped = exchange.getRequest().mutate()
+                    .headers(headers -> headers.remove(IdentityHeaderSigner.HEADER))
+                    .build();
+            exchange = exchange.mutate().request(stripped).build();
+        }
+        ServerWebExchange original = exchange;
+
         return exchange.getPrincipal()
                 .filter(principal -> principal instanceof OAuth2AuthenticationToken)
                 .cast(OAuth2AuthenticationToken.class)
@@ -23,12 +39,17 @@ public class AuthorizationFilter implements GlobalFilter, Ordered {
                 .cast(OidcUser.class)
                 .map(OidcUser::getIdToken)
                 .map(token -> {
-                    ServerHttpRequest request = exchange.getRequest().mutate()
-                            .header("Authorization", "Bearer " + token.getTokenValue())
-                            .build();
-                    return exchange.mutate().request(request).build();
+                    ServerHttpRequest.Builder request = original.getRequest().mutate();
+                    if (identitySigner.isEnabled()) {
+                        request.headers(headers -> headers.remove(HttpHeaders.AUTHORIZATION));
+                        identitySigner.sign(token)
+                                .ifPresent(identity -> request.header(IdentityHeaderSigner.HEADER, identity));
+                    } else {
+                        request.header("Authorization", "Bearer " + token.getTokenValue());
+                    }
+                    return original.mutate().request(request.build()).build();
                 })
-                .defaultIfEmpty(exchange)
+                .defaultIfEmpty(original)
                 .flatMap(chain::filter);
     }
 
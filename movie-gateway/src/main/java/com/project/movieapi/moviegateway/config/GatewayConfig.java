@@ -1,5 +1,6 @@
 package com.project.movieapi.moviegateway.config;
 
+import com.project.movieapi.moviegateway.cache.ResponseCacheFilter;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
@@ -15,13 +16,14 @@ import java.util.List;
 public class GatewayConfig {
 
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
+    public RouteLocator customRouteLocator(RouteLocatorBuilder builder, ResponseCacheFilter responseCache) {
         return builder.routes()
                 .route("movie-service", r -> r
                         .path("/api/movies/**", "/api/directors/**")
                         .filters(f -> f
                                 .dedupeResponseHeader("Access-Control-Allow-Origin", "RETAIN_UNIQUE")
                                 .dedupeResponseHeader("Access-Control-Allow-Credentials", "RETAIN_UNIQUE")
+                                .filter(responseCache)
                         )
                         .uri("http://movie-backend:8082"))
 
@@ -30,6 +32,7 @@ public class GatewayConfig {
                         .filters(f -> f
                                 .dedupeResponseHeader("Access-Control-Allow-Origin", "RETAIN_UNIQUE")
                                 .dedupeResponseHeader("Access-Control-Allow-Credentials", "RETAIN_UNIQUE")
+                                .filter(responseCache)
                         )
                         .uri("http://reviews-api:3006"))
 
@@ -0,0 +1,89 @@
+package com.project.movieapi.moviegateway.config;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+// The ID token was verified when the session was created, so downstream services don't need to check Google's RSA
+// signature again. With a shared secret configured, the user's identity is forwarded as a short-lived HS256 JWT that
+// they can validate with a single HMAC. Without one, the ID token is forwarded as a bearer token as before.
+@Component
+public class IdentityHeaderSigner {
+
+    public static final String HEADER = "X-Internal-Identity";
+    public static final String ISSUER = "movie-gateway";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final JwtEncoder encoder;
+    private final Clock clock;
+    private final Duration ttl;
+
+    @Autowired
+    public IdentityHeaderSigner(@Value("${gateway.identity.secret:}") String secret,
+                                @Value("${gateway.identity.ttl:60s}") Duration ttl) {
+        this(secret, ttl, Clock.systemUTC());
+    }
+
+    IdentityHeaderSigner(String secret, Duration ttl, Clock clock) {
+        this.clock = clock;
+        this.ttl = ttl;
+        if (secret == null || secret.isBlank()) {
+            this.encoder = null;
+            return;
+        }
+        byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+        if (key.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("gateway.identity.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        this.encoder = new NimbusJwtEncoder(new ImmutableSecret<>(new SecretKeySpec(key, "HmacSHA256")));
+    }
+
+    public boolean isEnabled() {
+        return encoder != null;
+    }
+
+    // Empty once the ID token itself has expired, so the request reaches the backend unauthenticated as it would have
+    // with the stale bearer token
+    public Optional<String> sign(OidcIdToken idToken) {
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(ttl);
+        if (idToken.getExpiresAt() != null) {
+            if (!now.isBefore(idToken.getExpiresAt())) {
+                return Optional.empty();
+            }
+            if (idToken.getExpiresAt().isBefore(expiresAt)) {
+                expiresAt = idToken.getExpiresAt();
+            }
+        }
+
+        JwtClaimsSet.Builder claims = JwtClaimsSet.builder()
+                .issuer(ISSUER)
+                .subject(idToken.getSubject())
+                .issuedAt(now)
+                .expiresAt(expiresAt);
+        if (idToken.getEmail() != null) {
+            claims.claim("email", idToken.getEmail());
+        }
+        if (idToken.getFullName() != null) {
+            claims.claim("name", idToken.getFullName());
+        }
+
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return Optional.of(encoder.encode(JwtEncoderParameters.from(header, claims.build())).getTokenValue());
+    }
+}
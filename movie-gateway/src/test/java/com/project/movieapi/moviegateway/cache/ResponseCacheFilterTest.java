@@ -0,0 +1,346 @@
+package com.project.movieapi.moviegateway.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheFilterTest {
+
+    private final ResponseCache cache = new ResponseCache(DataSize.ofMegabytes(1));
+    private final MutableClock clock = new MutableClock();
+    private final ResponseCacheFilter filter =
+            new ResponseCacheFilter(cache, clock, true, Duration.ofSeconds(10), DataSize.ofKilobytes(1));
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR,
+                Route.async().id("movie-service").uri(URI.create("http://movie-backend:8082"))
+                        .predicate(e -> true).build());
+        return exchange;
+    }
+
+    private GatewayFilterChain upstream(String body, String cacheControl) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            return write(exchange, body, cacheControl);
+        };
+    }
+
+    private static Mono<Void> write(ServerWebExchange exchange, String body, String cacheControl) {
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        exchange.getResponse().getHeaders().setETag("\"v1\"");
+        if (cacheControl != null) {
+            exchange.getResponse().getHeaders().setCacheControl(cacheControl);
+        }
+        return exchange.getResponse().writeWith(Mono.fromSupplier(() ->
+                exchange.getResponse().bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    // What spring-boot-rest-api sends for a catalog GET: its CORS config adds the preflight headers to Vary and Spring
+    // Security adds its own headers around the controller's Cache-Control
+    private GatewayFilterChain restApi(String body, String cacheControl) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            headers.add(HttpHeaders.VARY, "Origin");
+            headers.add(HttpHeaders.VARY, "Access-Control-Request-Method");
+            headers.add(HttpHeaders.VARY, "Access-Control-Request-Headers");
+            headers.set(HttpHeaders.CONTENT_TYPE, "application/json");
+            headers.set("X-Content-Type-Options", "nosniff");
+            headers.set("X-XSS-Protection", "0");
+            headers.set("X-Frame-Options", "DENY");
+            if (cacheControl.startsWith("no-cache")) {
+                headers.set(HttpHeaders.PRAGMA, "no-cache");
+                headers.set(HttpHeaders.EXPIRES, "0");
+            }
+            return write(exchange, body, cacheControl);
+        };
+    }
+
+    private String get(GatewayFilterChain chain) {
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/movies/1"));
+        filter.filter(exchange, chain).block();
+        return exchange.getResponse().getBodyAsString().block();
+    }
+
+    @Test
+    void shouldServeRepeatedGetFromCache() {
+        GatewayFilterChain chain = upstream("{\"id\":1}", null);
+
+        assertEquals("{\"id\":1}", get(chain));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/api/movies/1"));
+        filter.filter(second, chain).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("{\"id\":1}", second.getResponse().getBodyAsString().block());
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst("X-Cache"));
+    }
+
+    @Test
+    void shouldGoUpstreamAgain_whenEntryExpired() {
+        GatewayFilterChain chain = upstream("{}", "max-age=5");
+
+        get(chain);
+        clock.advance(Duration.ofSeconds(4));
+        get(chain);
+        clock.advance(Duration.ofSeconds(2));
+        get(chain);
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldNotStore_whenBackendForbidsIt() {
+        get(upstream("{}", "no-store"));
+        get(upstream("{}", "private, max-age=60"));
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldStore_catalogResponseFromRestApi() {
+        GatewayFilterChain chain = restApi("{\"id\":1}", "max-age=0, s-maxage=30");
+
+        get(chain);
+        clock.advance(Duration.ofSeconds(29));
+        MockServerWebExchange cached = exchange(MockServerHttpRequest.get("/api/movies/1"));
+        filter.filter(cached, chain).block();
+        clock.advance(Duration.ofSeconds(2));
+        get(chain);
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("HIT", cached.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("nosniff", cached.getResponse().getHeaders().getFirst("X-Content-Type-Options"));
+    }
+
+    @Test
+    void shouldNotStore_springSecurityDefaultHeaders() {
+        GatewayFilterChain chain = restApi("{}", "no-cache, no-store, max-age=0, must-revalidate");
+
+        get(chain);
+        get(chain);
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldNotStore_whenBodyExceedsEntryLimit() {
+        String large = "x".repeat(2048);
+
+        assertEquals(large, get(upstream(large, null)));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldBypassCache_whenClientSendsNoCache() {
+        GatewayFilterChain chain = upstream("{}", null);
+        get(chain);
+
+        filter.filter(exchange(MockServerHttpRequest.get("/api/movies/1").header(HttpHeaders.CACHE_CONTROL, "no-cache")),
+                chain).block();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldAnswerNotModified_whenEtagMatches() {
+        get(upstream("{}", null));
+
+        MockServerWebExchange conditional = exchange(MockServerHttpRequest.get("/api/movies/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v1\""));
+        filter.filter(conditional, upstream("{}", null)).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, conditional.getResponse().getStatusCode());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldEvictRoute_afterSuccessfulWrite() {
+        GatewayFilterChain chain = upstream("{}", null);
+        get(chain);
+
+        filter.filter(exchange(MockServerHttpRequest.post("/api/movies")), exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.CREATED);
+            return exchange.getResponse().setComplete();
+        }).block();
+        get(chain);
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void shouldKeepCachedMovie_afterBatchPost() {
+        GatewayFilterChain chain = restApi("{\"id\":1}", "max-age=0, s-maxage=10");
+        get(chain);
+
+        filter.filter(exchange(MockServerHttpRequest.post("/api/movies/_batch")), exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().setComplete();
+        }).block();
+        MockServerWebExchange cached = exchange(MockServerHttpRequest.get("/api/movies/1"));
+        filter.filter(cached, chain).block();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("HIT", cached.getResponse().getHeaders().getFirst("X-Cache"));
+        assertEquals("{\"id\":1}", cached.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void shouldCoalesceConcurrentMisses() throws Exception {
+        Sinks.Empty<Void> release = Sinks.empty();
+        GatewayFilterChain slow = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return release.asMono().then(write(exchange, "{\"id\":1}", null));
+        };
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/movies/1"));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/api/movies/1"));
+        MockServerWebExchange third = exchange(MockServerHttpRequest.get("/api/movies/1"));
+
+        CompletableFuture<Void> all = Mono.when(filter.filter(first, slow), filter.filter(second, slow), filter.filter(third, slow)).toFuture();
+        release.tryEmitEmpty();
+        all.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("{\"id\":1}", second.getResponse().getBodyAsString().block());
+        assertEquals("{\"id\":1}", third.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void shouldLetFollowersGoUpstream_whenLeaderResponseIsNotCacheable() throws Exception {
+        Sinks.Empty<Void> release = Sinks.empty();
+        GatewayFilterChain slow = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return release.asMono().then(write(exchange, "{}", "no-store"));
+        };
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/movies/1"));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/api/movies/1"));
+
+        CompletableFuture<Void> all = Mono.when(filter.filter(first, slow), filter.filter(second, slow)).toFuture();
+        release.tryEmitEmpty();
+        all.get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, upstreamCalls.get());
+        assertNull(cache.get("movie-service /api/movies/1 "));
+    }
+
+    @Test
+    void shouldReleaseFollowers_onceLeaderSeesUncacheableHeaders() throws Exception {
+        Sinks.Empty<Void> headersSent = Sinks.empty();
+        Sinks.Empty<Void> bodySent = Sinks.empty();
+        GatewayFilterChain slowBody = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return headersSent.asMono().then(Mono.defer(() -> {
+                exchange.getResponse().setStatusCode(HttpStatus.OK);
+                exchange.getResponse().getHeaders().setCacheControl("no-store");
+                return exchange.getResponse().writeWith(bodySent.asMono().then(Mono.fromSupplier(() ->
+                        exchange.getResponse().bufferFactory().wrap("{}".getBytes(StandardCharsets.UTF_8)))));
+            }));
+        };
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/movies/1"));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/api/movies/1"));
+
+        CompletableFuture<Void> leader = filter.filter(first, slowBody).toFuture();
+        CompletableFuture<Void> follower = filter.filter(second, upstream("{}", "no-store")).toFuture();
+        headersSent.tryEmitEmpty();
+        follower.get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, upstreamCalls.get());
+        assertFalse(leader.isDone());
+        bodySent.tryEmitEmpty();
+        leader.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldNotCoalesce_eventStreamRequests() throws Exception {
+        Sinks.Empty<Void> streamEnds = Sinks.empty();
+        GatewayFilterChain openStream = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return streamEnds.asMono().then(write(exchange, "data:{}\n\n", null));
+        };
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/movies").accept(MediaType.TEXT_EVENT_STREAM));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/api/movies").accept(MediaType.TEXT_EVENT_STREAM));
+
+        CompletableFuture<Void> leader = filter.filter(first, openStream).toFuture();
+        filter.filter(second, upstream("data:{}\n\n", null)).toFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, upstreamCalls.get());
+        assertFalse(leader.isDone());
+        streamEnds.tryEmitEmpty();
+        leader.get(5, TimeUnit.SECONDS);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void shouldReleaseFollowers_onceLeaderStartsStreaming() throws Exception {
+        Sinks.Empty<Void> streamEnds = Sinks.empty();
+        GatewayFilterChain openStream = exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            Flux<DataBuffer> event = Flux.just(exchange.getResponse().bufferFactory()
+                    .wrap("data:{}\n\n".getBytes(StandardCharsets.UTF_8)));
+            return exchange.getResponse().writeAndFlushWith(Flux.just(event, streamEnds.asMono().cast(DataBuffer.class)));
+        };
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/movies"));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/api/movies"));
+
+        CompletableFuture<Void> leader = filter.filter(first, openStream).toFuture();
+        filter.filter(second, upstream("[]", "no-store")).toFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, upstreamCalls.get());
+        assertFalse(leader.isDone());
+        streamEnds.tryEmitEmpty();
+        leader.get(5, TimeUnit.SECONDS);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.parse("2026-10-17T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
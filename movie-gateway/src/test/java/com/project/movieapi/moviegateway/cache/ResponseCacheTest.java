@@ -0,0 +1,53 @@
+package com.project.movieapi.moviegateway.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseCacheTest {
+
+    private final ResponseCache cache = new ResponseCache(DataSize.ofBytes(100));
+
+    private static CachedResponse response(int bytes) {
+        Instant now = Instant.now();
+        return new CachedResponse(200, new HttpHeaders(), new byte[bytes], now, now.plusSeconds(10));
+    }
+
+    @Test
+    void put_shouldEvictLeastRecentlyUsed_whenOverBudget() {
+        cache.put("movie-service /a", response(40));
+        cache.put("movie-service /b", response(40));
+        cache.get("movie-service /a");
+
+        cache.put("movie-service /c", response(40));
+
+        assertNotNull(cache.get("movie-service /a"));
+        assertNull(cache.get("movie-service /b"));
+        assertEquals(80, cache.bytes());
+    }
+
+    @Test
+    void put_shouldIgnoreEntryLargerThanBudget() {
+        cache.put("movie-service /a", response(101));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void evictRoute_shouldOnlyDropThatRoute() {
+        cache.put("movie-service /api/movies", response(10));
+        cache.put("review-service /api/reviews", response(10));
+
+        cache.evictRoute("movie-service");
+
+        assertNull(cache.get("movie-service /api/movies"));
+        assertNotNull(cache.get("review-service /api/reviews"));
+        assertEquals(10, cache.bytes());
+    }
+}
@@ -0,0 +1,121 @@
+package com.project.movieapi.moviegateway.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.OAuth2TokenValidatorResult;
+import org.springframework.security.oauth2.core.oidc.OidcIdToken;
+import org.springframework.security.oauth2.core.oidc.user.DefaultOidcUser;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthorizationFilterTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+    private static final Instant NOW = Instant.parse("2026-01-01T12:00:00Z");
+
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange);
+        return Mono.empty();
+    };
+
+    private static OidcIdToken idToken(Instant expiresAt) {
+        return new OidcIdToken("google-id-token", NOW.minusSeconds(60), expiresAt,
+                Map.of("sub", "1234", "email", "user@example.com", "name", "Test User"));
+    }
+
+    private static ServerWebExchange loggedIn(MockServerHttpRequest.BaseBuilder<?> request, OidcIdToken idToken) {
+        OAuth2AuthenticationToken authentication = new OAuth2AuthenticationToken(
+                new DefaultOidcUser(AuthorityUtils.createAuthorityList("OIDC_USER"), idToken), null, "google");
+        return MockServerWebExchange.from(request).mutate().principal(Mono.just(authentication)).build();
+    }
+
+    private HttpHeaders forwardedHeaders() {
+        return forwarded.get().getRequest().getHeaders();
+    }
+
+    @Test
+    void shouldForwardIdTokenAsBearer_whenNoSecretConfigured() {
+        AuthorizationFilter filter = new AuthorizationFilter(new IdentityHeaderSigner("", Duration.ofSeconds(60), clock));
+
+        filter.filter(loggedIn(MockServerHttpRequest.get("/api/movies"), idToken(NOW.plusSeconds(3600))), chain).block();
+
+        assertEquals("Bearer google-id-token", forwardedHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        assertNull(forwardedHeaders().getFirst(IdentityHeaderSigner.HEADER));
+    }
+
+    @Test
+    void shouldForwardSignedIdentityInsteadOfIdToken_whenSecretConfigured() {
+        AuthorizationFilter filter = new AuthorizationFilter(new IdentityHeaderSigner(SECRET, Duration.ofSeconds(60), clock));
+
+        filter.filter(loggedIn(MockServerHttpRequest.get("/api/movies"), idToken(NOW.plusSeconds(3600))), chain).block();
+
+        assertFalse(forwardedHeaders().containsHeader(HttpHeaders.AUTHORIZATION));
+        Jwt identity = decode(forwardedHeaders().getFirst(IdentityHeaderSigner.HEADER));
+        assertEquals("1234", identity.getSubject());
+        assertEquals("user@example.com", identity.getClaimAsString("email"));
+        assertEquals("Test User", identity.getClaimAsString("name"));
+        assertEquals(IdentityHeaderSigner.ISSUER, identity.getClaimAsString("iss"));
+        assertEquals(NOW.plusSeconds(60), identity.getExpiresAt());
+    }
+
+    @Test
+    void shouldNotOutliveIdToken() {
+        IdentityHeaderSigner signer = new IdentityHeaderSigner(SECRET, Duration.ofSeconds(60), clock);
+
+        Jwt identity = decode(signer.sign(idToken(NOW.plusSeconds(10))).orElseThrow());
+
+        assertEquals(NOW.plusSeconds(10), identity.getExpiresAt());
+        assertTrue(signer.sign(idToken(NOW)).isEmpty());
+    }
+
+    @Test
+    void shouldDropClientSuppliedIdentity() {
+        AuthorizationFilter filter = new AuthorizationFilter(new IdentityHeaderSigner(SECRET, Duration.ofSeconds(60), clock));
+        MockServerWebExchange anonymous = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/reviews").header(IdentityHeaderSigner.HEADER, "forged"));
+
+        filter.filter(anonymous, chain).block();
+
+        assertFalse(forwardedHeaders().containsHeader(IdentityHeaderSigner.HEADER));
+    }
+
+    @Test
+    void shouldRejectShortSecret() {
+        assertThrows(IllegalStateException.class, () -> new IdentityHeaderSigner("too-short", Duration.ofSeconds(60)));
+    }
+
+    private Jwt decode(String token) {
+        NimbusJwtDecoder decoder = NimbusJwtDecoder
+                .withSecretKey(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"))
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        // The fixed clock is in the past, so only the signature is checked here
+        decoder.setJwtValidator(jwt -> OAuth2TokenValidatorResult.success());
+        return decoder.decode(token);
+    }
+}
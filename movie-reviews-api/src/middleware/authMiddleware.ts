@@ -1,6 +1,7 @@
 import { Request, Response, NextFunction } from 'express';
 import { OAuth2Client } from 'google-auth-library';
 import dotenv from 'dotenv';
+import { INTERNAL_IDENTITY_HEADER, verifyInternalIdentity } from './internalIdentity';
 
 dotenv.config();
 
@@ -12,7 +13,24 @@ if (!CLIENT_ID) {
 
 const client = new OAuth2Client(CLIENT_ID);
 
+// Shared with the gateway; when set, its signed identity header is accepted instead of the Google ID token
+const INTERNAL_IDENTITY_SECRET = process.env.INTERNAL_IDENTITY_SECRET;
+
 export const authenticateUser = async (req: Request, res: Response, next: NextFunction) => {
+    const identityHeader = req.headers[INTERNAL_IDENTITY_HEADER];
+
+    if (INTERNAL_IDENTITY_SECRET && typeof identityHeader === 'string') {
+        const identity = verifyInternalIdentity(identityHeader, INTERNAL_IDENTITY_SECRET);
+        if (!identity) {
+            return res.status(401).json({ message: 'Invalid identity' });
+        }
+
+        // @ts-ignore
+        req.user = identity;
+
+        return next();
+    }
+
     const authHeader = req.headers.authorization;
 
     if (!authHeader) {
@@ -0,0 +1,43 @@
+import crypto from 'crypto';
+import { verifyInternalIdentity } from '../middleware/internalIdentity';
+
+const SECRET = '0123456789abcdef0123456789abcdef';
+
+const sign = (claims: object, secret: string = SECRET, alg: string = 'HS256'): string => {
+  const header = Buffer.from(JSON.stringify({ alg })).toString('base64url');
+  const payload = Buffer.from(JSON.stringify(claims)).toString('base64url');
+  const signature = crypto.createHmac('sha256', secret).update(`${header}.${payload}`).digest('base64url');
+  return `${header}.${payload}.${signature}`;
+};
+
+const inOneMinute = () => Math.floor(Date.now() / 1000) + 60;
+
+describe('Internal Identity Unit Tests', () => {
+
+  it('should return the claims of a token signed by the gateway', () => {
+    const token = sign({ iss: 'movie-gateway', sub: '1234', email: 'user@example.com', exp: inOneMinute() });
+
+    const identity = verifyInternalIdentity(token, SECRET);
+
+    expect(identity?.sub).toBe('1234');
+    expect(identity?.email).toBe('user@example.com');
+  });
+
+  it('should reject a token signed with another secret', () => {
+    const token = sign({ iss: 'movie-gateway', sub: '1234', exp: inOneMinute() }, 'fedcba9876543210fedcba9876543210');
+
+    expect(verifyInternalIdentity(token, SECRET)).toBeNull();
+  });
+
+  it('should reject an expired token', () => {
+    const token = sign({ iss: 'movie-gateway', sub: '1234', exp: Math.floor(Date.now() / 1000) - 1 });
+
+    expect(verifyInternalIdentity(token, SECRET)).toBeNull();
+  });
+
+  it('should reject a token from another issuer or algorithm', () => {
+    expect(verifyInternalIdentity(sign({ iss: 'someone-else', sub: '1234', exp: inOneMinute() }), SECRET)).toBeNull();
+    expect(verifyInternalIdentity(sign({ iss: 'movie-gateway', sub: '1234', exp: inOneMinute() }, SECRET, 'none'), SECRET)).toBeNull();
+    expect(verifyInternalIdentity('not-a-token', SECRET)).toBeNull();
+  });
+});
@@ -0,0 +1,41 @@
+// k6 run -e BASE_URL=http://localhost:8082 -e TOKEN=<google id token> load-test/movies-read.js
+// Run once against the default build and once with the virtual-threads profile, then compare http_reqs/s and p95 latency.
+// Start the API with --spring.cache.type=none for both runs so every request waits on Postgres.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8082';
+const HEADERS = {
+    'Authorization': `Bearer ${__ENV.TOKEN}`,
+    'Content-Type': 'application/json',
+};
+
+export const options = {
+    scenarios: {
+        spike: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: 200 },
+                { duration: '1m', target: 1000 },
+                { duration: '30s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+    },
+};
+
+export default function () {
+    const genres = ['Drama', 'Sci-Fi', 'War', 'Comedy', 'Thriller'];
+    const body = JSON.stringify({
+        genre: genres[Math.floor(Math.random() * genres.length)],
+        year: 1950 + Math.floor(Math.random() * 75),
+        page: 0,
+        size: 20,
+        includeTotal: false,
+    });
+    const res = http.post(`${BASE_URL}/api/movies/_list`, body, { headers: HEADERS });
+    check(res, { 'status is 200': (r) => r.status === 200 });
+}
@@ -1,8 +1,12 @@
 package com.project.movieapi.springbootrestapi.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+
+import java.time.Duration;
 
 @Configuration
 public class AppConfig {
@@ -11,4 +15,11 @@ public class AppConfig {
     public ObjectMapper objectMapper() {
         return new ObjectMapper();
     }
+
+    // Catalog reads may be reused by the gateway's shared cache but not by browsers. Setting Cache-Control explicitly
+    // also keeps Spring Security from replacing it with its no-store default.
+    @Bean
+    public CacheControl catalogCacheControl(@Value("${movies.http.shared-max-age:10s}") Duration sharedMaxAge) {
+        return CacheControl.maxAge(Duration.ZERO).sMaxAge(sharedMaxAge);
+    }
 }
\ No newline at end of file
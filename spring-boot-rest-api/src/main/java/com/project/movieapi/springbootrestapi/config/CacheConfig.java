@@ -0,0 +1,24 @@
+package com.project.movieapi.springbootrestapi.config;
+
+import org.springframework.boot.cache.autoconfigure.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.jcache.JCacheCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String MOVIES = "movies";
+    public static final String MOVIE_LISTS = "movieLists";
+    public static final String DIRECTORS = "directors";
+    public static final String DIRECTOR_LIST = "directorList";
+
+    // Puts and evictions made inside a transaction are applied once it commits, so a rollback never leaves a cached
+    // entry behind
+    @Bean
+    public CacheManagerCustomizer<JCacheCacheManager> transactionAwareCaches() {
+        return cacheManager -> cacheManager.setTransactionAware(true);
+    }
+}
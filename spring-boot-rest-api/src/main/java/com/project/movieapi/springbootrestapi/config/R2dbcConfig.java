@@ -0,0 +1,34 @@
+package com.project.movieapi.springbootrestapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+// R2DBC only serves the streamed reads in ReactiveMovieReader; all writes and transactions stay on JPA, which is why
+// the R2DBC transaction manager auto-configuration is excluded in application.properties
+@Configuration
+public class R2dbcConfig {
+
+    @Bean
+    public DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    // DataSourceAutoConfiguration backs off as soon as an R2DBC ConnectionFactory exists, which would leave JPA,
+    // Liquibase and the repositories without a DataSource. Declare it here from the same spring.datasource.* properties.
+    @Bean
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
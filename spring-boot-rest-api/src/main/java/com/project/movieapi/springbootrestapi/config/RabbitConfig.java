@@ -1,6 +1,7 @@
 package com.project.movieapi.springbootrestapi.config;
 
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.context.annotation.Bean;
@@ -8,10 +9,12 @@ import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class RabbitConfig {
+    public static final String EMAIL_QUEUE = "email_queue";
 
+    // Must match the declaration in email-service, otherwise whichever service starts second fails to declare it
     @Bean
     public Queue emailQueue() {
-        return new Queue("email_queue", false);
+        return QueueBuilder.durable(EMAIL_QUEUE).quorum().build();
     }
 
     @Bean
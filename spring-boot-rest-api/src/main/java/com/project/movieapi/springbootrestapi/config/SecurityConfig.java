@@ -1,11 +1,18 @@
 package com.project.movieapi.springbootrestapi.config;
 
+import com.project.movieapi.springbootrestapi.security.CachingJwtDecoder;
+import com.project.movieapi.springbootrestapi.security.IdentityHeaderResolver;
+import com.project.movieapi.springbootrestapi.security.JwksKeySource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -17,7 +24,7 @@ import java.util.List;
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, IdentityHeaderResolver identityResolver) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -26,12 +33,30 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 -> oauth2
-                        .jwt(Customizer.withDefaults())
+                        .bearerTokenResolver(identityResolver.tokenResolver())
+                        .authenticationManagerResolver(identityResolver)
                 );
 
         return http.build();
     }
 
+    // Verifies against the locally held JWKS and skips verification for tokens already seen
+    @Bean
+    public JwtDecoder jwtDecoder(JwksKeySource keySource,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}") String issuer,
+                                 @Value("${security.jwt.cache.max-entries:10000}") int maxEntries) {
+        NimbusJwtDecoder verifier = NimbusJwtDecoder.withJwkSource(keySource).build();
+        verifier.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+        return new CachingJwtDecoder(verifier, meterRegistry, maxEntries);
+    }
+
+    @Bean
+    public IdentityHeaderResolver identityHeaderResolver(JwtDecoder jwtDecoder,
+                                                         @Value("${security.identity.secret:}") String secret) {
+        return new IdentityHeaderResolver(jwtDecoder, secret);
+    }
+
     @Bean
     public UrlBasedCorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -0,0 +1,38 @@
+package com.project.movieapi.springbootrestapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class UploadConfig {
+
+    // Bounded on both ends: at most 'workers' imports run at once and 'queue-capacity' wait, the rest are rejected
+    @Bean
+    public ThreadPoolTaskExecutor uploadJobExecutor(@Value("${movies.upload.async.workers:2}") int workers,
+                                                    @Value("${movies.upload.async.queue-capacity:10}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("upload-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // Shared by all imports for their parser and validator stages. Each import needs all of its stage threads running at
+    // once, so there is no queue: an import that doesn't get them is rejected instead of waiting behind the others.
+    @Bean
+    public ThreadPoolTaskExecutor uploadStageExecutor(@Value("${movies.upload.validation-workers:0}") int validationWorkers,
+                                                      @Value("${movies.upload.max-concurrent-imports:4}") int maxConcurrentImports) {
+        int perImport = (validationWorkers > 0 ? validationWorkers : Runtime.getRuntime().availableProcessors()) + 1;
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(perImport * maxConcurrentImports);
+        executor.setMaxPoolSize(perImport * maxConcurrentImports);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("movie-import-");
+        return executor;
+    }
+}
@@ -0,0 +1,46 @@
+package com.project.movieapi.springbootrestapi.controller;
+
+import com.project.movieapi.springbootrestapi.dto.director.DirectorResponseDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieListRequestDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieListResponseDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieResponseDTO;
+import com.project.movieapi.springbootrestapi.service.ReactiveMovieReader;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+// Server-Sent Events variants of the catalog reads, picked when the client accepts text/event-stream. The request
+// thread is released as soon as the Flux is returned; each event is written once the previous one has gone out, and
+// only then is the next row requested from R2DBC.
+@RestController
+public class CatalogStreamController {
+    private final ReactiveMovieReader reader;
+
+    public CatalogStreamController(ReactiveMovieReader reader) {
+        this.reader = reader;
+    }
+
+    @GetMapping(value = "/api/movies", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<MovieResponseDTO> streamAll() {
+        return reader.findAll();
+    }
+
+    @GetMapping(value = "/api/movies/{id}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<MovieResponseDTO> streamById(@PathVariable Long id) {
+        return reader.findById(id).flux();
+    }
+
+    @PostMapping(value = "/api/movies/_list", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<MovieListResponseDTO.MovieShortDTO> streamList(@RequestBody MovieListRequestDTO filter) {
+        return reader.list(filter);
+    }
+
+    @GetMapping(value = "/api/directors", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<DirectorResponseDTO> streamDirectors() {
+        return reader.findAllDirectors();
+    }
+}
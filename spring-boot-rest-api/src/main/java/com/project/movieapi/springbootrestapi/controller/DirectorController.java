@@ -4,6 +4,7 @@ import com.project.movieapi.springbootrestapi.dto.director.DirectorRequestDTO;
 import com.project.movieapi.springbootrestapi.dto.director.DirectorResponseDTO;
 import com.project.movieapi.springbootrestapi.service.DirectorService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,14 +15,21 @@ import java.util.List;
 @RequestMapping("/api/directors")
 public class DirectorController {
     private final DirectorService directorService;
+    private final CacheControl catalogCacheControl;
 
-    public DirectorController(DirectorService directorService) {
+    public DirectorController(DirectorService directorService, CacheControl catalogCacheControl) {
         this.directorService = directorService;
+        this.catalogCacheControl = catalogCacheControl;
     }
 
     @GetMapping
     public ResponseEntity<List<DirectorResponseDTO>> getAll() {
-        return ResponseEntity.ok(directorService.getAll());
+        return ResponseEntity.ok().cacheControl(catalogCacheControl).body(directorService.getAll());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<DirectorResponseDTO> getById(@PathVariable Long id) {
+        return ResponseEntity.ok().cacheControl(catalogCacheControl).body(directorService.getById(id));
     }
 
     @PostMapping
@@ -1,30 +1,49 @@
 package com.project.movieapi.springbootrestapi.controller;
 
+import com.project.movieapi.springbootrestapi.dto.movie.MovieBatchRequestDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieBatchResponseDTO;
 import com.project.movieapi.springbootrestapi.dto.movie.MovieRequestDTO;
 import com.project.movieapi.springbootrestapi.dto.movie.MovieResponseDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieSearchResultDTO;
 import com.project.movieapi.springbootrestapi.dto.movie.MovieListRequestDTO;
 import com.project.movieapi.springbootrestapi.dto.movie.MovieListResponseDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieUploadResponseDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.UploadJobStatusDTO;
 import com.project.movieapi.springbootrestapi.exception.EmptyFileException;
+import com.project.movieapi.springbootrestapi.service.MovieImportService;
 import com.project.movieapi.springbootrestapi.service.MovieService;
+import com.project.movieapi.springbootrestapi.service.UploadJobService;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/movies")
 public class MovieController {
     private final MovieService movieService;
+    private final MovieImportService movieImportService;
+    private final UploadJobService uploadJobService;
+    private final CacheControl catalogCacheControl;
 
-    public MovieController(MovieService movieService) {
+    public MovieController(MovieService movieService,
+                           MovieImportService movieImportService,
+                           UploadJobService uploadJobService,
+                           CacheControl catalogCacheControl) {
         this.movieService = movieService;
+        this.movieImportService = movieImportService;
+        this.uploadJobService = uploadJobService;
+        this.catalogCacheControl = catalogCacheControl;
     }
 
     @PostMapping
@@ -35,7 +54,7 @@ public class MovieController {
 
     @GetMapping("/{id}")
     public ResponseEntity<MovieResponseDTO> getById(@PathVariable Long id) {
-        return ResponseEntity.ok(movieService.getById(id));
+        return ResponseEntity.ok().cacheControl(catalogCacheControl).body(movieService.getById(id));
     }
 
     @PutMapping("/{id}")
@@ -52,7 +71,16 @@ public class MovieController {
 
     @GetMapping
     public ResponseEntity<List<MovieResponseDTO>> getAll() {
-        return ResponseEntity.ok(movieService.getAll());
+        return ResponseEntity.ok().cacheControl(catalogCacheControl).body(movieService.getAll());
+    }
+
+    // Chosen over getAll for Accept: application/x-ndjson; the first rows go out before the rest are read
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        StreamingResponseBody body = movieService::writeNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PostMapping("/_list")
@@ -60,20 +88,47 @@ public class MovieController {
         return ResponseEntity.ok(movieService.list(filter));
     }
 
+    @PostMapping("/_batch")
+    public ResponseEntity<MovieBatchResponseDTO> batch(@Valid @RequestBody MovieBatchRequestDTO request) {
+        return ResponseEntity.ok(movieService.getByIds(request.getIds()));
+    }
+
+    @GetMapping("/_search")
+    public ResponseEntity<List<MovieSearchResultDTO>> search(@RequestParam("q") String query,
+                                                             @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(movieService.search(query, limit));
+    }
+
     @PostMapping("/_report")
-    public ResponseEntity<byte[]> report(@RequestBody MovieListRequestDTO filter) {
-        byte[] csvBytes = movieService.generateReport(filter);
+    public ResponseEntity<StreamingResponseBody> report(@RequestBody MovieListRequestDTO filter) {
+        StreamingResponseBody body = outputStream -> movieService.writeReport(filter, outputStream);
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=movies_report.csv")
-                .contentType(MediaType.TEXT_PLAIN)
-                .body(csvBytes);
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
     }
 
     @PostMapping("/upload")
-    public ResponseEntity<Map<String, Object>> upload(@RequestParam("file") MultipartFile file) throws IOException {
+    public ResponseEntity<MovieUploadResponseDTO> upload(@RequestParam("file") MultipartFile file) throws IOException {
         if (file.isEmpty()) {
             throw new EmptyFileException("File is empty");
         }
-        return ResponseEntity.ok(movieService.upload(file.getInputStream()));
+        return ResponseEntity.ok(movieImportService.importMovies(file.getInputStream()));
+    }
+
+    @PostMapping(value = "/upload", params = "async=true")
+    public ResponseEntity<UploadJobStatusDTO> uploadAsync(@RequestParam("file") MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new EmptyFileException("File is empty");
+        }
+        UploadJobStatusDTO job = uploadJobService.submit(file);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/movies/upload/" + job.getJobId()))
+                .body(job);
+    }
+
+    @GetMapping("/upload/{jobId}")
+    public ResponseEntity<UploadJobStatusDTO> uploadStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(uploadJobService.getStatus(jobId));
     }
 }
\ No newline at end of file
@@ -3,9 +3,11 @@ package com.project.movieapi.springbootrestapi.dto.director;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.Serializable;
+
 @Setter
 @Getter
-public class DirectorResponseDTO {
+public class DirectorResponseDTO implements Serializable {
     private Long id;
     private String name;
     private String country;
@@ -0,0 +1,17 @@
+package com.project.movieapi.springbootrestapi.dto.movie;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Setter
+@Getter
+public class MovieBatchRequestDTO {
+    @NotNull(message = "ids is mandatory")
+    @Size(max = 500, message = "At most 500 ids per batch")
+    private List<@NotNull Long> ids;
+
+}
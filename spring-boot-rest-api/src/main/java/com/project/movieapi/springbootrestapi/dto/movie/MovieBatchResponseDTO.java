@@ -0,0 +1,16 @@
+package com.project.movieapi.springbootrestapi.dto.movie;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Setter
+@Getter
+public class MovieBatchResponseDTO implements Serializable {
+    // In the order the ids were requested, duplicates dropped
+    private List<MovieResponseDTO> movies;
+    private List<Long> missing;
+
+}
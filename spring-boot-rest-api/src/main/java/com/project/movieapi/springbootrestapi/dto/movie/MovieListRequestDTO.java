@@ -1,15 +1,24 @@
 package com.project.movieapi.springbootrestapi.dto.movie;
 
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.Serializable;
+
 @Setter
 @Getter
-public class MovieListRequestDTO {
+@EqualsAndHashCode
+public class MovieListRequestDTO implements Serializable {
     private Long directorId;
     private String genre;
     private Integer year;
     private int page = 0;
     private int size = 20;
 
+    // Opaque cursor taken from a previous response's nextCursor; when set, page is ignored
+    private String after;
+    // Set to false to skip the count query (totalPages is then left null)
+    private boolean includeTotal = true;
+
 }
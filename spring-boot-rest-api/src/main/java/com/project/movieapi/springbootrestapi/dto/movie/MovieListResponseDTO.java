@@ -3,17 +3,19 @@ package com.project.movieapi.springbootrestapi.dto.movie;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.Serializable;
 import java.util.List;
 
 @Setter
 @Getter
-public class MovieListResponseDTO {
+public class MovieListResponseDTO implements Serializable {
     private List<MovieShortDTO> list;
-    private int totalPages;
+    private Integer totalPages;
+    private String nextCursor;
 
     @Setter
     @Getter
-    public static class MovieShortDTO {
+    public static class MovieShortDTO implements Serializable {
         private Long id;
         private String title;
         private Integer year;
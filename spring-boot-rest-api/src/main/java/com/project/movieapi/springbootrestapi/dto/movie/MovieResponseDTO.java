@@ -3,9 +3,11 @@ package com.project.movieapi.springbootrestapi.dto.movie;
 import lombok.Getter;
 import lombok.Setter;
 
+import java.io.Serializable;
+
 @Setter
 @Getter
-public class MovieResponseDTO {
+public class MovieResponseDTO implements Serializable {
     private Long id;
     private String title;
     private Integer year;
@@ -15,7 +17,7 @@ public class MovieResponseDTO {
 
     @Setter
     @Getter
-    public static class DirectorDTO {
+    public static class DirectorDTO implements Serializable {
         private Long id;
         private String name;
 
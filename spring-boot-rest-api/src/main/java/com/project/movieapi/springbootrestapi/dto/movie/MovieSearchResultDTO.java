@@ -0,0 +1,14 @@
+package com.project.movieapi.springbootrestapi.dto.movie;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Setter
+@Getter
+public class MovieSearchResultDTO {
+    private Long id;
+    private String title;
+    private Integer year;
+    private double score;
+
+}
@@ -0,0 +1,26 @@
+package com.project.movieapi.springbootrestapi.dto.movie;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Setter
+@Getter
+public class MovieUploadResponseDTO {
+    private int success;
+    private int failed;
+    private List<RowErrorDTO> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+
+    @Setter
+    @Getter
+    public static class RowErrorDTO {
+        // 1-based position of the object in the uploaded array
+        private int row;
+        private String title;
+        private String message;
+
+    }
+}
@@ -0,0 +1,26 @@
+package com.project.movieapi.springbootrestapi.dto.movie;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Setter
+@Getter
+public class UploadJobStatusDTO {
+    private String jobId;
+    private String status;
+    private int rowsProcessed;
+    private int rowsFailed;
+    private long bytesRead;
+    private long totalBytes;
+    private Double rowsPerSecond;
+    private Long etaSeconds;
+    private Instant submittedAt;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String error;
+    // Full import report, present once the job has completed
+    private MovieUploadResponseDTO result;
+
+}
@@ -13,14 +13,16 @@ import lombok.Setter;
 @Table(
         name = "movies",
         indexes = {
-                @Index(name = "idx_movies_director", columnList = "director_id"),
-                @Index(name = "idx_movies_genre", columnList = "genre"),
-                @Index(name = "idx_movies_year", columnList = "year")
+                @Index(name = "idx_movies_director_id", columnList = "director_id, id"),
+                @Index(name = "idx_movies_genre_id", columnList = "genre, id"),
+                @Index(name = "idx_movies_year_id", columnList = "year, id")
         }
 )
 public class Movie {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence ids let Hibernate batch inserts; allocationSize must match the sequence increment
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movies_id_seq")
+    @SequenceGenerator(name = "movies_id_seq", sequenceName = "movies_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is mandatory")
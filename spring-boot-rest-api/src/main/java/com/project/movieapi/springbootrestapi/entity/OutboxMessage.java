@@ -0,0 +1,28 @@
+package com.project.movieapi.springbootrestapi.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+// An email notification waiting to be published to RabbitMQ; written in the same transaction as the change it reports
+@Setter
+@Getter
+@Entity
+@Table(name = "email_outbox")
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_id_seq")
+    @SequenceGenerator(name = "email_outbox_id_seq", sequenceName = "email_outbox_id_seq", allocationSize = 50)
+    private Long id;
+
+    private String recipient;
+
+    private String subject;
+
+    private String body;
+
+    @Column(name = "created_at")
+    private Instant createdAt;
+}
@@ -0,0 +1,7 @@
+package com.project.movieapi.springbootrestapi.exception;
+
+public class UploadJobNotFoundException extends RuntimeException {
+    public UploadJobNotFoundException(String message) {
+        super(message);
+    }
+}
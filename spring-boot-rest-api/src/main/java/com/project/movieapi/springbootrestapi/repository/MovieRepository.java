@@ -1,12 +1,22 @@
 package com.project.movieapi.springbootrestapi.repository;
 
 import com.project.movieapi.springbootrestapi.entity.Movie;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 public interface MovieRepository extends JpaRepository<Movie, Long> {
 
     @Query("SELECT m FROM Movie m " +
@@ -17,4 +27,44 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
                                    @Param("genre") String genre,
                                    @Param("year") Integer year,
                                    Pageable pageable);
+
+    // Must be consumed inside a transaction; the fetch size makes the driver use a server-side cursor
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT m FROM Movie m JOIN FETCH m.director " +
+            "WHERE (:directorId IS NULL OR m.director.id = :directorId) " +
+            "AND (:genre IS NULL OR m.genre = :genre) " +
+            "AND (:year IS NULL OR m.year = :year) " +
+            "ORDER BY m.id")
+    Stream<Movie> streamAllWithFilters(@Param("directorId") Long directorId,
+                                       @Param("genre") String genre,
+                                       @Param("year") Integer year);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT m.id AS id, m.title AS title, m.year AS year, m.director.id AS directorId FROM Movie m")
+    Stream<MovieTitleView> streamAllTitles();
+
+    @EntityGraph(attributePaths = "director")
+    @Query("SELECT m FROM Movie m")
+    List<Movie> findAllWithDirector();
+
+    @EntityGraph(attributePaths = "director")
+    Optional<Movie> findWithDirectorById(Long id);
+
+    @EntityGraph(attributePaths = "director")
+    List<Movie> findAllWithDirectorByIdIn(Collection<Long> ids);
+
+    // Seek variant: no COUNT query, and the id predicate lets the (filter, id) indexes skip straight to the cursor
+    @Query("SELECT m FROM Movie m " +
+            "WHERE (:directorId IS NULL OR m.director.id = :directorId) " +
+            "AND (:genre IS NULL OR m.genre = :genre) " +
+            "AND (:year IS NULL OR m.year = :year) " +
+            "AND (:afterId IS NULL OR m.id > :afterId)")
+    Slice<Movie> findSliceWithFilters(@Param("directorId") Long directorId,
+                                      @Param("genre") String genre,
+                                      @Param("year") Integer year,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
 }
\ No newline at end of file
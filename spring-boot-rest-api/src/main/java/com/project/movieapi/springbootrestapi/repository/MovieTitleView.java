@@ -0,0 +1,11 @@
+package com.project.movieapi.springbootrestapi.repository;
+
+public interface MovieTitleView {
+    Long getId();
+
+    String getTitle();
+
+    Integer getYear();
+
+    Long getDirectorId();
+}
@@ -0,0 +1,21 @@
+package com.project.movieapi.springbootrestapi.repository;
+
+import com.project.movieapi.springbootrestapi.entity.OutboxMessage;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    // FOR UPDATE SKIP LOCKED: several relay instances each take a different batch instead of waiting on each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxMessage o ORDER BY o.id")
+    List<OutboxMessage> lockOldest(Pageable pageable);
+}
@@ -0,0 +1,104 @@
+package com.project.movieapi.springbootrestapi.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// The gateway forwards the same ID token on every call. A token that passed signature and claim checks once is kept,
+// keyed by its SHA-256, until its exp, so repeat requests skip the RSA verification. Bounded to maxEntries, LRU.
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final Clock clock;
+    private final int maxEntries;
+    private final Map<String, Jwt> verified;
+    private final Timer validTimer;
+    private final Timer invalidTimer;
+    private final Counter hits;
+    private final Counter misses;
+
+    public CachingJwtDecoder(JwtDecoder delegate, MeterRegistry meterRegistry, int maxEntries) {
+        this(delegate, meterRegistry, maxEntries, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(JwtDecoder delegate, MeterRegistry meterRegistry, int maxEntries, Clock clock) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.maxEntries = maxEntries;
+        this.verified = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Jwt> eldest) {
+                return size() > CachingJwtDecoder.this.maxEntries;
+            }
+        };
+        this.validTimer = Timer.builder("security.jwt.verify").tag("outcome", "valid").register(meterRegistry);
+        this.invalidTimer = Timer.builder("security.jwt.verify").tag("outcome", "invalid").register(meterRegistry);
+        this.hits = Counter.builder("security.jwt.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("security.jwt.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("security.jwt.cache.size", this, CachingJwtDecoder::size).register(meterRegistry);
+    }
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        String key = hash(token);
+        Instant now = clock.instant();
+        synchronized (verified) {
+            Jwt cached = verified.get(key);
+            if (cached != null) {
+                if (now.isBefore(cached.getExpiresAt())) {
+                    hits.increment();
+                    return cached;
+                }
+                verified.remove(key);
+            }
+        }
+        misses.increment();
+
+        long start = System.nanoTime();
+        Jwt jwt;
+        try {
+            jwt = delegate.decode(token);
+        } catch (JwtException e) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        validTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        // Tokens without exp are never cached, since nothing would ever expire them
+        if (jwt.getExpiresAt() != null && now.isBefore(jwt.getExpiresAt())) {
+            synchronized (verified) {
+                verified.put(key, jwt);
+            }
+        }
+        return jwt;
+    }
+
+    public int size() {
+        synchronized (verified) {
+            return verified.size();
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
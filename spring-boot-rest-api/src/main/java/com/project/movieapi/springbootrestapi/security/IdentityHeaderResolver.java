@@ -0,0 +1,74 @@
+package com.project.movieapi.springbootrestapi.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationManagerResolver;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
+// When the gateway runs with gateway.identity.secret, it verifies the Google ID token once and forwards the user as a
+// short-lived HS256 JWT in X-Internal-Identity. Those requests are authenticated with an HMAC check against the same
+// secret; everything else still goes through the Google bearer token decoder. Without a secret the header is ignored.
+public class IdentityHeaderResolver implements AuthenticationManagerResolver<HttpServletRequest> {
+
+    public static final String HEADER = "X-Internal-Identity";
+    public static final String ISSUER = "movie-gateway";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final BearerTokenResolver bearerResolver = new DefaultBearerTokenResolver();
+    private final AuthenticationManager bearerManager;
+    private final AuthenticationManager identityManager;
+
+    public IdentityHeaderResolver(JwtDecoder bearerDecoder, String secret) {
+        this.bearerManager = new ProviderManager(new JwtAuthenticationProvider(bearerDecoder));
+        this.identityManager = secret == null || secret.isBlank()
+                ? null
+                : new ProviderManager(new JwtAuthenticationProvider(identityDecoder(secret)));
+    }
+
+    @Override
+    public AuthenticationManager resolve(HttpServletRequest request) {
+        return identity(request) != null ? identityManager : bearerManager;
+    }
+
+    // Picks the token the chosen AuthenticationManager will be handed
+    public BearerTokenResolver tokenResolver() {
+        return request -> {
+            String identity = identity(request);
+            return identity != null ? identity : bearerResolver.resolve(request);
+        };
+    }
+
+    public boolean isEnabled() {
+        return identityManager != null;
+    }
+
+    private String identity(HttpServletRequest request) {
+        if (identityManager == null) {
+            return null;
+        }
+        String header = request.getHeader(HEADER);
+        return header == null || header.isBlank() ? null : header;
+    }
+
+    private static JwtDecoder identityDecoder(String secret) {
+        byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+        if (key.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("security.identity.secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(new SecretKeySpec(key, "HmacSHA256"))
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+        return decoder;
+    }
+}
@@ -0,0 +1,106 @@
+package com.project.movieapi.springbootrestapi.security;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// Keeps a local copy of the issuer's JWKS. It is fetched at startup and refreshed in the background, so verifying a
+// token never waits on the remote endpoint; only a token signed with a key id we have not seen yet triggers a fetch,
+// at most once per min-refresh-interval.
+@Slf4j
+@Component
+public class JwksKeySource implements JWKSource<SecurityContext>, SmartInitializingSingleton {
+
+    private static final int TIMEOUT_MILLIS = 5000;
+    private static final int SIZE_LIMIT = 512 * 1024;
+
+    private final URL jwkSetUrl;
+    private final Duration minRefreshInterval;
+    private final Clock clock;
+    private volatile JWKSet keys = new JWKSet();
+    private volatile Instant lastFetch = Instant.EPOCH;
+
+    @Autowired
+    public JwksKeySource(@Value("${spring.security.oauth2.resourceserver.jwt.jwk-set-uri}") String jwkSetUri,
+                         @Value("${security.jwt.jwks-min-refresh-interval:30s}") Duration minRefreshInterval) {
+        this(jwkSetUri, minRefreshInterval, Clock.systemUTC());
+    }
+
+    JwksKeySource(String jwkSetUri, Duration minRefreshInterval, Clock clock) {
+        this.jwkSetUrl = toUrl(jwkSetUri);
+        this.minRefreshInterval = minRefreshInterval;
+        this.clock = clock;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refreshQuietly();
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.jwks-refresh-interval:900000}",
+            initialDelayString = "${security.jwt.jwks-refresh-interval:900000}")
+    public void scheduledRefresh() {
+        refreshQuietly();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) {
+        List<JWK> matches = jwkSelector.select(keys);
+        if (matches.isEmpty() && refreshIfStale()) {
+            matches = jwkSelector.select(keys);
+        }
+        return matches;
+    }
+
+    public int size() {
+        return keys.size();
+    }
+
+    // Threads that miss on the same rotated key wait for one fetch instead of each doing their own
+    private synchronized boolean refreshIfStale() {
+        if (Duration.between(lastFetch, clock.instant()).compareTo(minRefreshInterval) < 0) {
+            return false;
+        }
+        return refreshQuietly();
+    }
+
+    synchronized boolean refresh() throws IOException, ParseException {
+        lastFetch = clock.instant();
+        keys = JWKSet.load(jwkSetUrl, TIMEOUT_MILLIS, TIMEOUT_MILLIS, SIZE_LIMIT);
+        return true;
+    }
+
+    private boolean refreshQuietly() {
+        try {
+            return refresh();
+        } catch (IOException | ParseException e) {
+            log.warn("Failed to fetch JWKS from {}, keeping {} cached keys: {}", jwkSetUrl, keys.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static URL toUrl(String uri) {
+        try {
+            return URI.create(uri).toURL();
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid JWKS URI: " + uri, e);
+        }
+    }
+}
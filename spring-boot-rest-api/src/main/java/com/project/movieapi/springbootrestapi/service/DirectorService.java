@@ -1,11 +1,16 @@
 package com.project.movieapi.springbootrestapi.service;
 
+import com.project.movieapi.springbootrestapi.config.CacheConfig;
 import com.project.movieapi.springbootrestapi.dto.director.DirectorRequestDTO;
 import com.project.movieapi.springbootrestapi.dto.director.DirectorResponseDTO;
 import com.project.movieapi.springbootrestapi.entity.Director;
 import com.project.movieapi.springbootrestapi.exception.DirectorNotFoundException;
 import com.project.movieapi.springbootrestapi.exception.ResourceAlreadyExistsException;
 import com.project.movieapi.springbootrestapi.repository.DirectorRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -14,11 +19,17 @@ import java.util.stream.Collectors;
 @Service
 public class DirectorService {
     private final DirectorRepository directorRepository;
+    private final MovieSearchIndex searchIndex;
 
-    public DirectorService(DirectorRepository directorRepository) {
+    public DirectorService(DirectorRepository directorRepository, MovieSearchIndex searchIndex) {
         this.directorRepository = directorRepository;
+        this.searchIndex = searchIndex;
     }
 
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.DIRECTORS, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.DIRECTOR_LIST, allEntries = true)
+    )
     public DirectorResponseDTO create(DirectorRequestDTO dto) {
         if (directorRepository.existsByNameIgnoreCase(dto.getName())) {
             throw new ResourceAlreadyExistsException("Director with name '" + dto.getName() + "' already exists");
@@ -31,6 +42,14 @@ public class DirectorService {
         return toResponseDTO(saved);
     }
 
+    @Cacheable(cacheNames = CacheConfig.DIRECTORS, key = "#id")
+    public DirectorResponseDTO getById(Long id) {
+        Director director = directorRepository.findById(id)
+                .orElseThrow(() -> new DirectorNotFoundException("Director not found"));
+        return toResponseDTO(director);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.DIRECTOR_LIST, key = "'all'")
     public List<DirectorResponseDTO> getAll() {
         return directorRepository.findAll()
                 .stream()
@@ -38,6 +57,14 @@ public class DirectorService {
                 .collect(Collectors.toList());
     }
 
+    // Cached movies embed the director name, so a rename invalidates them as well
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.DIRECTORS, key = "#id"),
+            evict = {
+                    @CacheEvict(cacheNames = CacheConfig.DIRECTOR_LIST, allEntries = true),
+                    @CacheEvict(cacheNames = CacheConfig.MOVIES, allEntries = true)
+            }
+    )
     public DirectorResponseDTO update(Long id, DirectorRequestDTO dto) {
         Director director = directorRepository.findById(id)
                 .orElseThrow(() -> new DirectorNotFoundException("Director not found"));
@@ -54,11 +81,19 @@ public class DirectorService {
         return toResponseDTO(updated);
     }
 
+    // Deleting a director cascades to its movies
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DIRECTORS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.DIRECTOR_LIST, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.MOVIES, allEntries = true),
+            @CacheEvict(cacheNames = CacheConfig.MOVIE_LISTS, allEntries = true)
+    })
     public void delete(Long id) {
         if (!directorRepository.existsById(id)) {
             throw new DirectorNotFoundException("Director not found");
         }
         directorRepository.deleteById(id);
+        searchIndex.removeByDirector(id);
     }
 
     private DirectorResponseDTO toResponseDTO(Director director) {
@@ -0,0 +1,37 @@
+package com.project.movieapi.springbootrestapi.service;
+
+import com.project.movieapi.springbootrestapi.config.RabbitConfig;
+import com.project.movieapi.springbootrestapi.dto.email.EmailMessageDto;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+@Service
+public class EmailNotificationPublisher {
+    private final RabbitTemplate rabbitTemplate;
+    private final long confirmTimeoutMillis;
+
+    public EmailNotificationPublisher(RabbitTemplate rabbitTemplate,
+                                      @Value("${movies.notifications.confirm-timeout:5s}") Duration confirmTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.confirmTimeoutMillis = confirmTimeout.toMillis();
+    }
+
+    // Publishes the whole batch on one channel and waits once for the broker to confirm all of it,
+    // instead of a round trip per message. Throws if any message was nacked or the timeout expired.
+    public void publishAll(List<EmailMessageDto> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        rabbitTemplate.invoke(operations -> {
+            for (EmailMessageDto message : messages) {
+                operations.convertAndSend(RabbitConfig.EMAIL_QUEUE, message);
+            }
+            operations.waitForConfirmsOrDie(confirmTimeoutMillis);
+            return null;
+        });
+    }
+}
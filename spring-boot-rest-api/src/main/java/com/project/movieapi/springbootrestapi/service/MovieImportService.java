@@ -0,0 +1,348 @@
+package com.project.movieapi.springbootrestapi.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.movieapi.springbootrestapi.config.CacheConfig;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieRequestDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieUploadResponseDTO;
+import com.project.movieapi.springbootrestapi.entity.Director;
+import com.project.movieapi.springbootrestapi.entity.Movie;
+import com.project.movieapi.springbootrestapi.exception.UploadFailedException;
+import com.project.movieapi.springbootrestapi.exception.UploadRejectedException;
+import com.project.movieapi.springbootrestapi.repository.DirectorRepository;
+import com.project.movieapi.springbootrestapi.repository.MovieRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+@Service
+public class MovieImportService {
+    private final MovieRepository movieRepository;
+    private final DirectorRepository directorRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final MovieSearchIndex searchIndex;
+    private final NotificationOutbox notificationOutbox;
+    private final CacheManager cacheManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor stageExecutor;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final int validationWorkers;
+    private final int queueCapacity;
+
+    public MovieImportService(MovieRepository movieRepository,
+                              DirectorRepository directorRepository,
+                              ObjectMapper objectMapper,
+                              EntityManager entityManager,
+                              MovieSearchIndex searchIndex,
+                              NotificationOutbox notificationOutbox,
+                              CacheManager cacheManager,
+                              Validator validator,
+                              PlatformTransactionManager transactionManager,
+                              @Qualifier("uploadStageExecutor") AsyncTaskExecutor stageExecutor,
+                              @Value("${movies.upload.batch-size:500}") int batchSize,
+                              @Value("${movies.upload.max-reported-errors:1000}") int maxReportedErrors,
+                              @Value("${movies.upload.validation-workers:0}") int validationWorkers,
+                              @Value("${movies.upload.queue-capacity:1000}") int queueCapacity) {
+        this.movieRepository = movieRepository;
+        this.directorRepository = directorRepository;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.searchIndex = searchIndex;
+        this.notificationOutbox = notificationOutbox;
+        this.cacheManager = cacheManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stageExecutor = stageExecutor;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.validationWorkers = validationWorkers > 0 ? validationWorkers : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+    }
+
+    public MovieUploadResponseDTO importMovies(InputStream inputStream) {
+        return importMovies(inputStream, (success, failed) -> {
+        });
+    }
+
+    public MovieUploadResponseDTO importMovies(InputStream inputStream, ProgressListener listener) {
+        ImportRun run = new ImportRun(listener);
+        BlockingQueue<ImportRow> parsed = new ArrayBlockingQueue<>(queueCapacity);
+        BlockingQueue<ImportRow> validated = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        // Parser -> validators -> this thread as the batching writer; the bounded queues block a stage that runs ahead
+        List<Future<?>> stages = new ArrayList<>(validationWorkers + 1);
+        try {
+            stages.add(stageExecutor.submit(() -> parse(inputStream, parsed, failure)));
+            for (int i = 0; i < validationWorkers; i++) {
+                stages.add(stageExecutor.submit(() -> validate(parsed, validated, failure)));
+            }
+            write(run, validated);
+        } catch (TaskRejectedException e) {
+            throw new UploadRejectedException("Too many uploads in progress, try again later");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UploadFailedException("Upload interrupted after " + run.result.getSuccess() + " imported rows");
+        } finally {
+            stages.forEach(stage -> stage.cancel(true));
+        }
+
+        Exception error = failure.get();
+        if (error instanceof UploadFailedException uploadFailed) {
+            throw uploadFailed;
+        }
+        if (error instanceof IOException) {
+            throw new UploadFailedException("Upload failed: invalid JSON after "
+                    + run.result.getSuccess() + " imported rows");
+        }
+        if (error != null) {
+            throw new UploadFailedException("Upload failed after " + run.result.getSuccess() + " imported rows: "
+                    + error.getMessage());
+        }
+        run.result.getErrors().sort(Comparator.comparingInt(MovieUploadResponseDTO.RowErrorDTO::getRow));
+        return run.result;
+    }
+
+    private void parse(InputStream inputStream, BlockingQueue<ImportRow> parsed, AtomicReference<Exception> failure) {
+        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new UploadFailedException("Expected JSON array");
+            }
+            int row = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+                row++;
+                parsed.put(new ImportRow(row, parser.readValueAs(MovieRequestDTO.class), null));
+            }
+            if (token != JsonToken.END_ARRAY) {
+                throw new UploadFailedException("Expected a JSON object at row " + (row + 1));
+            }
+        } catch (InterruptedException e) {
+            // The writer gave up and nobody is left to consume the end markers
+            return;
+        } catch (IOException | RuntimeException e) {
+            failure.compareAndSet(null, e);
+        }
+        try {
+            for (int i = 0; i < validationWorkers; i++) {
+                parsed.put(ImportRow.END);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Always ends with an END marker, even when validation throws, so the writer never waits for a dead worker
+    private void validate(BlockingQueue<ImportRow> parsed, BlockingQueue<ImportRow> validated,
+                          AtomicReference<Exception> failure) {
+        try {
+            ImportRow row;
+            while ((row = parsed.take()) != ImportRow.END) {
+                Set<ConstraintViolation<MovieRequestDTO>> violations = validator.validate(row.dto());
+                validated.put(violations.isEmpty() ? row : new ImportRow(row.index(), row.dto(), describe(violations)));
+            }
+        } catch (InterruptedException e) {
+            // The writer gave up and nobody is left to consume the end marker
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            if (!Thread.currentThread().isInterrupted()) {
+                try {
+                    validated.put(ImportRow.END);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private void write(ImportRun run, BlockingQueue<ImportRow> validated) throws InterruptedException {
+        int running = validationWorkers;
+        while (running > 0) {
+            ImportRow row = validated.take();
+            if (row == ImportRow.END) {
+                running--;
+            } else if (row.error() != null) {
+                recordError(run, row, row.error());
+            } else {
+                run.chunk.add(row);
+                if (run.chunk.size() >= batchSize) {
+                    flushChunk(run);
+                }
+            }
+        }
+        flushChunk(run);
+    }
+
+    private String describe(Set<ConstraintViolation<MovieRequestDTO>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void flushChunk(ImportRun run) {
+        if (run.chunk.isEmpty()) {
+            return;
+        }
+        resolveDirectors(run);
+        int committedBefore = run.result.getSuccess();
+
+        List<ImportRow> valid = new ArrayList<>(run.chunk.size());
+        for (ImportRow row : run.chunk) {
+            if (run.directors.get(row.dto().getDirectorId()) != null) {
+                valid.add(row);
+            } else {
+                recordError(run, row, "Director not found");
+            }
+        }
+
+        try {
+            List<Movie> saved = transactionTemplate.execute(status -> {
+                List<Movie> movies = movieRepository.saveAll(valid.stream().map(this::toMovie).toList());
+                notificationOutbox.moviesCreated(movies, run.directors);
+                entityManager.flush();
+                return movies;
+            });
+            saved.forEach(searchIndex::index);
+            run.result.setSuccess(run.result.getSuccess() + valid.size());
+        } catch (RuntimeException e) {
+            // One bad row rolls back the whole chunk; replay it row by row to find and report the culprits
+            entityManager.clear();
+            for (ImportRow row : valid) {
+                insertSingle(run, row);
+            }
+        } finally {
+            entityManager.clear();
+            run.chunk.clear();
+            if (run.result.getSuccess() > committedBefore) {
+                evictMovieLists();
+            }
+            run.listener.onProgress(run.result.getSuccess(), run.result.getFailed());
+        }
+    }
+
+    // Every chunk commits on its own, so cached _list pages are dropped per chunk rather than once the upload returns:
+    // an upload that fails later must not leave the rows it already committed out of the lists
+    private void evictMovieLists() {
+        Cache lists = cacheManager.getCache(CacheConfig.MOVIE_LISTS);
+        if (lists != null) {
+            lists.clear();
+        }
+    }
+
+    private void insertSingle(ImportRun run, ImportRow row) {
+        try {
+            Movie saved = transactionTemplate.execute(status -> {
+                Movie movie = movieRepository.save(toMovie(row));
+                notificationOutbox.movieCreated(movie, run.directors.get(row.dto().getDirectorId()));
+                entityManager.flush();
+                return movie;
+            });
+            searchIndex.index(saved);
+            run.result.setSuccess(run.result.getSuccess() + 1);
+        } catch (RuntimeException e) {
+            entityManager.clear();
+            recordError(run, row, rootMessage(e));
+        }
+    }
+
+    // Looks up every director id not seen in earlier chunks with a single query
+    private void resolveDirectors(ImportRun run) {
+        Set<Long> unknown = run.chunk.stream()
+                .map(row -> row.dto().getDirectorId())
+                .filter(id -> id != null && !run.directors.containsKey(id))
+                .collect(Collectors.toSet());
+        if (unknown.isEmpty()) {
+            return;
+        }
+        Map<Long, String> found = directorRepository.findAllById(unknown).stream()
+                .collect(Collectors.toMap(Director::getId, Director::getName));
+        for (Long id : unknown) {
+            run.directors.put(id, found.get(id));
+        }
+    }
+
+    private Movie toMovie(ImportRow row) {
+        MovieRequestDTO dto = row.dto();
+        Movie movie = new Movie();
+        movie.setTitle(dto.getTitle());
+        movie.setYear(dto.getYear());
+        movie.setGenre(dto.getGenre());
+        movie.setDirector(directorRepository.getReferenceById(dto.getDirectorId()));
+        return movie;
+    }
+
+    private void recordError(ImportRun run, ImportRow row, String message) {
+        MovieUploadResponseDTO result = run.result;
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() >= maxReportedErrors) {
+            result.setErrorsTruncated(true);
+            return;
+        }
+        MovieUploadResponseDTO.RowErrorDTO error = new MovieUploadResponseDTO.RowErrorDTO();
+        error.setRow(row.index());
+        error.setTitle(row.dto().getTitle());
+        error.setMessage(message);
+        result.getErrors().add(error);
+    }
+
+    private String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    // Called after every committed chunk with the running totals
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(int success, int failed);
+    }
+
+    // 'error' carries the bean-validation failure for rows that must not reach the database
+    private record ImportRow(int index, MovieRequestDTO dto, String error) {
+        private static final ImportRow END = new ImportRow(0, null, null);
+    }
+
+    private static class ImportRun {
+        private final ProgressListener listener;
+        private final MovieUploadResponseDTO result = new MovieUploadResponseDTO();
+        private final List<ImportRow> chunk = new ArrayList<>();
+        // Director id -> name, or null if it does not exist; filled lazily so each id is looked up once per upload
+        private final Map<Long, String> directors = new HashMap<>();
+
+        private ImportRun(ProgressListener listener) {
+            this.listener = listener;
+        }
+    }
+}
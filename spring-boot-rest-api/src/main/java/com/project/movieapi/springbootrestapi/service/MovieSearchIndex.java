@@ -0,0 +1,326 @@
+package com.project.movieapi.springbootrestapi.service;
+
+import com.project.movieapi.springbootrestapi.dto.movie.MovieSearchResultDTO;
+import com.project.movieapi.springbootrestapi.entity.Movie;
+import com.project.movieapi.springbootrestapi.repository.MovieRepository;
+import com.project.movieapi.springbootrestapi.repository.MovieTitleView;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// In-memory inverted index over movie title tokens, so type-ahead search never reaches Postgres
+@Component
+public class MovieSearchIndex implements SmartInitializingSingleton {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // Shorter tokens have too many one-edit neighbours for a typo match to mean anything
+    private static final int FUZZY_MIN_LENGTH = 4;
+    private static final double EXACT_SCORE = 1.0;
+    private static final double FUZZY_SCORE = 0.4;
+    // Higher score first, then the shorter (closer) title, then the older id
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparingInt(hit -> hit.entry().title().length())
+            .thenComparing(hit -> hit.entry().id());
+
+    private final MovieRepository movieRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> documents = new HashMap<>();
+    private final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    // Every term with one character deleted -> the terms it came from; finds edit-distance-1 matches without a vocabulary scan
+    private final Map<String, Set<String>> deletions = new HashMap<>();
+
+    public MovieSearchIndex(MovieRepository movieRepository, PlatformTransactionManager transactionManager) {
+        this.movieRepository = movieRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    // Runs before the web server starts, so no request sees a partially built index
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<MovieTitleView> movies = movieRepository.streamAllTitles()) {
+                lock.writeLock().lock();
+                try {
+                    documents.clear();
+                    postings.clear();
+                    deletions.clear();
+                    movies.forEach(m -> add(new Entry(m.getId(), m.getTitle(), m.getYear(), m.getDirectorId())));
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        });
+    }
+
+    public void index(Movie movie) {
+        Entry entry = new Entry(movie.getId(), movie.getTitle(), movie.getYear(),
+                movie.getDirector() != null ? movie.getDirector().getId() : null);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeEntry(entry.id());
+                add(entry);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeEntry(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Movies are deleted with their director through the JPA cascade
+    public void removeByDirector(Long directorId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                List<Long> ids = documents.values().stream()
+                        .filter(e -> directorId.equals(e.directorId()))
+                        .map(Entry::id)
+                        .toList();
+                ids.forEach(this::removeEntry);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    // Inside a transaction a change is applied once it commits, so a rolled-back write never shows up in search
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    public List<MovieSearchResultDTO> search(String query, int limit) {
+        Set<String> distinct = new LinkedHashSet<>(tokenize(query));
+        if (distinct.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            // Start from the most selective token so the later ones only probe a small candidate set
+            List<String> tokens = new ArrayList<>(distinct);
+            tokens.sort(Comparator.comparingInt(this::prefixPostingsSize));
+            // Every query token has to match; a movie's score is the sum of its best match per token
+            Map<Long, Double> scores = null;
+            for (String token : tokens) {
+                Map<Long, Double> matches = match(token, scores);
+                if (scores != null) {
+                    Map<Long, Double> previous = scores;
+                    matches.replaceAll((id, score) -> score + previous.get(id));
+                }
+                scores = matches;
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            // Keep only the best 'limit' hits instead of sorting every match of a short prefix
+            PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            for (Map.Entry<Long, Double> e : scores.entrySet()) {
+                if (best.size() == limit && e.getValue() < best.peek().score()) {
+                    continue;
+                }
+                best.add(new Hit(documents.get(e.getKey()), e.getValue()));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(RANKING);
+            return hits.stream().map(this::toResultDTO).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int prefixPostingsSize(String token) {
+        int size = 0;
+        for (Set<Long> ids : postings.subMap(token, true, token + Character.MAX_VALUE, false).values()) {
+            size += ids.size();
+        }
+        return size;
+    }
+
+    // Best score of the token per movie, limited to the movies still matching the previous tokens (null = all)
+    private Map<Long, Double> match(String token, Map<Long, Double> candidates) {
+        Map<Long, Double> matches = new HashMap<>();
+
+        // Exact term and every term it is a prefix of, which is what makes partially typed words match
+        for (Map.Entry<String, Set<Long>> e : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            String term = e.getKey();
+            double score = term.length() == token.length()
+                    ? EXACT_SCORE
+                    : 0.5 + 0.4 * token.length() / term.length();
+            collect(e.getValue(), score, candidates, matches);
+        }
+
+        if (token.length() >= FUZZY_MIN_LENGTH) {
+            for (String term : fuzzyTerms(token)) {
+                collect(postings.get(term), FUZZY_SCORE, candidates, matches);
+            }
+        }
+        return matches;
+    }
+
+    private static void collect(Set<Long> ids, double score, Map<Long, Double> candidates, Map<Long, Double> matches) {
+        for (Long id : ids) {
+            if (candidates == null || candidates.containsKey(id)) {
+                matches.merge(id, score, Math::max);
+            }
+        }
+    }
+
+    private Set<String> fuzzyTerms(String token) {
+        Set<String> candidates = new HashSet<>(deletions.getOrDefault(token, Set.of()));
+        for (String deleted : deletionsOf(token)) {
+            if (postings.containsKey(deleted)) {
+                candidates.add(deleted);
+            }
+            candidates.addAll(deletions.getOrDefault(deleted, Set.of()));
+        }
+        candidates.removeIf(term -> term.equals(token) || !withinOneEdit(token, term));
+        return candidates;
+    }
+
+    private void add(Entry entry) {
+        documents.put(entry.id(), entry);
+        for (String term : new HashSet<>(tokenize(entry.title()))) {
+            Set<Long> ids = postings.get(term);
+            if (ids == null) {
+                ids = new HashSet<>();
+                postings.put(term, ids);
+                for (String deleted : deletionsOf(term)) {
+                    deletions.computeIfAbsent(deleted, k -> new HashSet<>()).add(term);
+                }
+            }
+            ids.add(entry.id());
+        }
+    }
+
+    private void removeEntry(Long id) {
+        Entry entry = documents.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String term : new HashSet<>(tokenize(entry.title()))) {
+            Set<Long> ids = postings.get(term);
+            if (ids == null || !ids.remove(id) || !ids.isEmpty()) {
+                continue;
+            }
+            postings.remove(term);
+            for (String deleted : deletionsOf(term)) {
+                Set<String> terms = deletions.get(deleted);
+                if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                    deletions.remove(deleted);
+                }
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(normalized.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> deletionsOf(String term) {
+        if (term.length() < FUZZY_MIN_LENGTH) {
+            return Set.of();
+        }
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i < term.length(); i++) {
+            result.add(term.substring(0, i) + term.substring(i + 1));
+        }
+        return result;
+    }
+
+    private static boolean withinOneEdit(String a, String b) {
+        if (Math.abs(a.length() - b.length()) > 1) {
+            return false;
+        }
+        int i = 0;
+        while (i < a.length() && i < b.length() && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        if (a.length() == b.length()) {
+            return a.substring(i + 1).equals(b.substring(i + 1));
+        }
+        return a.length() > b.length()
+                ? a.substring(i + 1).equals(b.substring(i))
+                : a.substring(i).equals(b.substring(i + 1));
+    }
+
+    private MovieSearchResultDTO toResultDTO(Hit hit) {
+        MovieSearchResultDTO dto = new MovieSearchResultDTO();
+        dto.setId(hit.entry().id());
+        dto.setTitle(hit.entry().title());
+        dto.setYear(hit.entry().year());
+        dto.setScore(hit.score());
+        return dto;
+    }
+
+    private record Entry(Long id, String title, Integer year, Long directorId) {
+    }
+
+    private record Hit(Entry entry, double score) {
+    }
+}
@@ -1,54 +1,87 @@
 package com.project.movieapi.springbootrestapi.service;
 
-import com.fasterxml.jackson.core.JsonParser;
-import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-// import com.project.movieapi.springbootrestapi.dto.email.EmailMessageDto;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.project.movieapi.springbootrestapi.config.CacheConfig;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieBatchResponseDTO;
 import com.project.movieapi.springbootrestapi.dto.movie.MovieListRequestDTO;
 import com.project.movieapi.springbootrestapi.dto.movie.MovieListResponseDTO;
 import com.project.movieapi.springbootrestapi.dto.movie.MovieRequestDTO;
 import com.project.movieapi.springbootrestapi.dto.movie.MovieResponseDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieSearchResultDTO;
 import com.project.movieapi.springbootrestapi.entity.Director;
 import com.project.movieapi.springbootrestapi.entity.Movie;
 import com.project.movieapi.springbootrestapi.exception.DirectorNotFoundException;
 import com.project.movieapi.springbootrestapi.exception.MovieNotFoundException;
-import com.project.movieapi.springbootrestapi.exception.UploadFailedException;
 import com.project.movieapi.springbootrestapi.repository.DirectorRepository;
 import com.project.movieapi.springbootrestapi.repository.MovieRepository;
-// import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import com.project.movieapi.springbootrestapi.util.CsvWriter;
+import com.project.movieapi.springbootrestapi.util.IdCursor;
+import jakarta.persistence.EntityManager;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.PrintWriter;
-import java.io.StringWriter;
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class MovieService {
+    private static final int REPORT_CLEAR_INTERVAL = 1000;
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     private final MovieRepository movieRepository;
     private final DirectorRepository directorRepository;
+    private final EntityManager entityManager;
+    private final MovieSearchIndex searchIndex;
+    private final NotificationOutbox notificationOutbox;
     private final ObjectMapper objectMapper;
-    // private final RabbitTemplate rabbitTemplate;
+    private final CacheManager cacheManager;
 
     public MovieService(MovieRepository movieRepository,
                         DirectorRepository directorRepository,
-                        ObjectMapper objectMapper
-                        // RabbitTemplate rabbitTemplate
-                        ) {
+                        EntityManager entityManager,
+                        MovieSearchIndex searchIndex,
+                        NotificationOutbox notificationOutbox,
+                        ObjectMapper objectMapper,
+                        CacheManager cacheManager) {
         this.movieRepository = movieRepository;
         this.directorRepository = directorRepository;
+        this.entityManager = entityManager;
+        this.searchIndex = searchIndex;
+        this.notificationOutbox = notificationOutbox;
         this.objectMapper = objectMapper;
-        // this.rabbitTemplate = rabbitTemplate;
+        this.cacheManager = cacheManager;
     }
 
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.MOVIES, key = "#result.id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.MOVIE_LISTS, allEntries = true)
+    )
+    @Transactional
     public MovieResponseDTO create(MovieRequestDTO dto) {
         Director director = directorRepository.findById(dto.getDirectorId())
                 .orElseThrow(() -> new DirectorNotFoundException("Director not found"));
@@ -60,30 +93,67 @@ public class MovieService {
         movie.setDirector(director);
 
         Movie saved = movieRepository.save(movie);
-
-        // try {
-        //     EmailMessageDto emailMessage = new EmailMessageDto();
-        //     emailMessage.setRecipient("admin@movieapi.com");
-        //     emailMessage.setSubject("New Movie Created");
-        //     emailMessage.setBody("A new movie has been added to the catalog: " + saved.getTitle()
-        //             + " (" + saved.getYear() + ") by " + director.getName());
-
-        //     rabbitTemplate.convertAndSend("email_queue", emailMessage);
-
-        //     System.out.println("Notification sent to RabbitMQ for movie: " + saved.getTitle());
-        // } catch (Exception e) {
-        //     System.err.println("Failed to send email notification: " + e.getMessage());
-        // }
+        // Published by OutboxRelay after commit, so a slow or unavailable broker never delays the request
+        notificationOutbox.movieCreated(saved, director.getName());
+        searchIndex.index(saved);
 
         return toResponseDTO(saved);
     }
 
+    @Cacheable(cacheNames = CacheConfig.MOVIES, key = "#id")
     public MovieResponseDTO getById(Long id) {
-        Movie movie = movieRepository.findById(id)
+        Movie movie = movieRepository.findWithDirectorById(id)
                 .orElseThrow(() -> new MovieNotFoundException("Movie not found"));
         return toResponseDTO(movie);
     }
 
+    // Ids already in the movies cache are served from it; the rest are loaded with one IN query and cached
+    public MovieBatchResponseDTO getByIds(List<Long> ids) {
+        Cache cache = cacheManager.getCache(CacheConfig.MOVIES);
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        Map<Long, MovieResponseDTO> found = new HashMap<>();
+        List<Long> uncached = new ArrayList<>();
+        for (Long id : requested) {
+            MovieResponseDTO cached = cache != null ? cache.get(id, MovieResponseDTO.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                uncached.add(id);
+            }
+        }
+
+        if (!uncached.isEmpty()) {
+            for (Movie movie : movieRepository.findAllWithDirectorByIdIn(uncached)) {
+                MovieResponseDTO dto = toResponseDTO(movie);
+                found.put(movie.getId(), dto);
+                if (cache != null) {
+                    cache.put(movie.getId(), dto);
+                }
+            }
+        }
+
+        List<MovieResponseDTO> movies = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : requested) {
+            MovieResponseDTO dto = found.get(id);
+            if (dto != null) {
+                movies.add(dto);
+            } else {
+                missing.add(id);
+            }
+        }
+
+        MovieBatchResponseDTO response = new MovieBatchResponseDTO();
+        response.setMovies(movies);
+        response.setMissing(missing);
+        return response;
+    }
+
+    @Caching(
+            put = @CachePut(cacheNames = CacheConfig.MOVIES, key = "#id"),
+            evict = @CacheEvict(cacheNames = CacheConfig.MOVIE_LISTS, allEntries = true)
+    )
+    @Transactional
     public MovieResponseDTO update(Long id, MovieRequestDTO dto) {
         Movie movie = movieRepository.findById(id)
                 .orElseThrow(() -> new MovieNotFoundException("Movie not found"));
@@ -97,25 +167,41 @@ public class MovieService {
         movie.setDirector(director);
 
         Movie updated = movieRepository.save(movie);
+        searchIndex.index(updated);
         return toResponseDTO(updated);
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.MOVIES, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.MOVIE_LISTS, allEntries = true)
+    })
+    @Transactional
     public void delete(Long id) {
         if (!movieRepository.existsById(id)) {
             throw new MovieNotFoundException("Movie not found");
         }
         movieRepository.deleteById(id);
+        searchIndex.remove(id);
+    }
+
+    public List<MovieSearchResultDTO> search(String query, int limit) {
+        return searchIndex.search(query, Math.min(limit, MAX_SEARCH_RESULTS));
     }
 
     public List<MovieResponseDTO> getAll() {
-        return movieRepository.findAll()
+        return movieRepository.findAllWithDirector()
                 .stream()
                 .map(this::toResponseDTO)
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(cacheNames = CacheConfig.MOVIE_LISTS, key = "#filter")
     public MovieListResponseDTO list(MovieListRequestDTO filter) {
-        Pageable pageable = PageRequest.of(filter.getPage(), filter.getSize());
+        if (filter.getAfter() != null || !filter.isIncludeTotal()) {
+            return listSlice(filter);
+        }
+
+        Pageable pageable = PageRequest.of(filter.getPage(), filter.getSize(), Sort.by("id"));
         Page<Movie> page = movieRepository.findAllWithFilters(
                 filter.getDirectorId(),
                 filter.getGenre(),
@@ -123,7 +209,30 @@ public class MovieService {
                 pageable
         );
 
-        List<MovieListResponseDTO.MovieShortDTO> list = page.getContent().stream().map(m -> {
+        MovieListResponseDTO response = toListResponseDTO(page.getContent(), page.hasNext());
+        response.setTotalPages(page.getTotalPages());
+        return response;
+    }
+
+    private MovieListResponseDTO listSlice(MovieListRequestDTO filter) {
+        Long afterId = IdCursor.decode(filter.getAfter());
+        // With a cursor the seek predicate replaces the offset, so always read the first slice after it
+        int page = afterId != null ? 0 : filter.getPage();
+        Pageable pageable = PageRequest.of(page, filter.getSize(), Sort.by("id"));
+
+        Slice<Movie> slice = movieRepository.findSliceWithFilters(
+                filter.getDirectorId(),
+                filter.getGenre(),
+                filter.getYear(),
+                afterId,
+                pageable
+        );
+
+        return toListResponseDTO(slice.getContent(), slice.hasNext());
+    }
+
+    private MovieListResponseDTO toListResponseDTO(List<Movie> movies, boolean hasNext) {
+        List<MovieListResponseDTO.MovieShortDTO> list = movies.stream().map(m -> {
             MovieListResponseDTO.MovieShortDTO dto = new MovieListResponseDTO.MovieShortDTO();
             dto.setId(m.getId());
             dto.setTitle(m.getTitle());
@@ -133,53 +242,54 @@ public class MovieService {
 
         MovieListResponseDTO response = new MovieListResponseDTO();
         response.setList(list);
-        response.setTotalPages(page.getTotalPages());
+        if (hasNext && !movies.isEmpty()) {
+            response.setNextCursor(IdCursor.encode(movies.get(movies.size() - 1).getId()));
+        }
         return response;
     }
 
-    public byte[] generateReport(MovieListRequestDTO filter) {
-        List<Movie> movies = movieRepository.findAllWithFilters(
+    @Transactional(readOnly = true)
+    public void writeReport(MovieListRequestDTO filter, OutputStream outputStream) throws IOException {
+        CsvWriter csv = new CsvWriter(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+        csv.writeRow("Id", "Title", "Year", "Genre", "Director");
+
+        try (Stream<Movie> movies = movieRepository.streamAllWithFilters(
                 filter.getDirectorId(),
                 filter.getGenre(),
-                filter.getYear(),
-                Pageable.unpaged()
-        ).getContent();
-
-        StringWriter sw = new StringWriter();
-        PrintWriter pw = new PrintWriter(sw);
-        pw.println("Id,Title,Year,Genre,Director");
-        for (Movie m : movies) {
-            pw.printf("%d,%s,%d,%s,%s%n",
-                    m.getId(), m.getTitle(), m.getYear(), m.getGenre(), m.getDirector().getName());
+                filter.getYear()
+        )) {
+            Iterator<Movie> iterator = movies.iterator();
+            int rows = 0;
+            while (iterator.hasNext()) {
+                Movie m = iterator.next();
+                csv.writeRow(m.getId(), m.getTitle(), m.getYear(), m.getGenre(), m.getDirector().getName());
+                // Rows already written are only kept alive by the persistence context
+                if (++rows % REPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
         }
-        return sw.toString().getBytes(StandardCharsets.UTF_8);
+        csv.flush();
     }
 
-    public Map<String, Object> upload(InputStream inputStream) {
-        int success = 0;
-        int failed = 0;
+    // Same content as getAll, one MovieResponseDTO per line, written as rows come off the cursor
+    @Transactional(readOnly = true)
+    public void writeNdjson(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(MovieResponseDTO.class);
+        OutputStream out = new BufferedOutputStream(outputStream);
 
-        try (JsonParser parser = objectMapper.getFactory().createParser(inputStream)) {
-            if (parser.nextToken() != JsonToken.START_ARRAY) {
-                throw new UploadFailedException("Expected JSON array");
-            }
-            while (parser.nextToken() == JsonToken.START_OBJECT) {
-                MovieRequestDTO dto = parser.readValueAs(MovieRequestDTO.class);
-                try {
-                    create(dto);
-                    success++;
-                } catch (Exception e) {
-                    failed++;
+        try (Stream<Movie> movies = movieRepository.streamAllWithFilters(null, null, null)) {
+            Iterator<Movie> iterator = movies.iterator();
+            int rows = 0;
+            while (iterator.hasNext()) {
+                out.write(writer.writeValueAsBytes(toResponseDTO(iterator.next())));
+                out.write('\n');
+                if (++rows % REPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
                 }
             }
-        } catch (IOException e) {
-            throw new UploadFailedException("Upload failed: invalid JSON");
         }
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("success", success);
-        result.put("failed", failed);
-        return result;
+        out.flush();
     }
 
     private MovieResponseDTO toResponseDTO(Movie movie) {
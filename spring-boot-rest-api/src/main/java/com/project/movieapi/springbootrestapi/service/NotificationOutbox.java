@@ -0,0 +1,48 @@
+package com.project.movieapi.springbootrestapi.service;
+
+import com.project.movieapi.springbootrestapi.entity.Movie;
+import com.project.movieapi.springbootrestapi.entity.OutboxMessage;
+import com.project.movieapi.springbootrestapi.repository.OutboxMessageRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Must be called inside the transaction that creates the movies, so a notification exists exactly when the movie does
+@Service
+public class NotificationOutbox {
+    private final OutboxMessageRepository outboxRepository;
+    private final String recipient;
+
+    public NotificationOutbox(OutboxMessageRepository outboxRepository,
+                              @Value("${movies.notifications.recipient:admin@movieapi.com}") String recipient) {
+        this.outboxRepository = outboxRepository;
+        this.recipient = recipient;
+    }
+
+    public void movieCreated(Movie movie, String directorName) {
+        outboxRepository.save(toMessage(movie, directorName, Instant.now()));
+    }
+
+    public void moviesCreated(List<Movie> movies, Map<Long, String> directorNames) {
+        Instant now = Instant.now();
+        List<OutboxMessage> messages = new ArrayList<>(movies.size());
+        for (Movie movie : movies) {
+            messages.add(toMessage(movie, directorNames.get(movie.getDirector().getId()), now));
+        }
+        outboxRepository.saveAll(messages);
+    }
+
+    private OutboxMessage toMessage(Movie movie, String directorName, Instant createdAt) {
+        OutboxMessage message = new OutboxMessage();
+        message.setRecipient(recipient);
+        message.setSubject("New Movie Created");
+        message.setBody("A new movie has been added to the catalog: " + movie.getTitle()
+                + " (" + movie.getYear() + ") by " + directorName);
+        message.setCreatedAt(createdAt);
+        return message;
+    }
+}
@@ -0,0 +1,64 @@
+package com.project.movieapi.springbootrestapi.service;
+
+import com.project.movieapi.springbootrestapi.dto.email.EmailMessageDto;
+import com.project.movieapi.springbootrestapi.entity.OutboxMessage;
+import com.project.movieapi.springbootrestapi.repository.OutboxMessageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Moves outbox rows to RabbitMQ off the request path. A batch is deleted only after the broker confirmed all of it;
+// if the publish fails the rows stay and the next run tries again, so delivery is at-least-once.
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxMessageRepository outboxRepository;
+    private final EmailNotificationPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public OutboxRelay(OutboxMessageRepository outboxRepository,
+                       EmailNotificationPublisher publisher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${movies.outbox.batch-size:500}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${movies.outbox.poll-interval:1000}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = relayBatch();
+            } while (relayed == batchSize);
+        } catch (AmqpException e) {
+            log.warn("Failed to publish outbox messages, will retry: {}", e.getMessage());
+        }
+    }
+
+    int relayBatch() {
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<OutboxMessage> batch = outboxRepository.lockOldest(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            publisher.publishAll(batch.stream()
+                    .map(m -> new EmailMessageDto(m.getRecipient(), m.getSubject(), m.getBody()))
+                    .toList());
+            outboxRepository.deleteAllInBatch(batch);
+            return batch.size();
+        });
+        return relayed != null ? relayed : 0;
+    }
+}
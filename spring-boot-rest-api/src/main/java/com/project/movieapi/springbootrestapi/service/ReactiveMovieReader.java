@@ -0,0 +1,118 @@
+package com.project.movieapi.springbootrestapi.service;
+
+import com.project.movieapi.springbootrestapi.dto.director.DirectorResponseDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieListRequestDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieListResponseDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieResponseDTO;
+import com.project.movieapi.springbootrestapi.exception.MovieNotFoundException;
+import com.project.movieapi.springbootrestapi.util.IdCursor;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Catalog reads over R2DBC for the text/event-stream endpoints. Rows are fetched from a server-side cursor in
+// fetch-size chunks as the subscriber requests them, so a slow client holds neither a thread nor the whole result.
+@Service
+public class ReactiveMovieReader {
+    private static final String MOVIE_SELECT = """
+            SELECT m.id, m.title, m.year, m.genre, d.id AS director_id, d.name AS director_name
+            FROM movies m JOIN directors d ON d.id = m.director_id""";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public ReactiveMovieReader(DatabaseClient databaseClient,
+                               @Value("${movies.reactive.fetch-size:256}") int fetchSize) {
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Flux<MovieResponseDTO> findAll() {
+        return databaseClient.sql(MOVIE_SELECT + " ORDER BY m.id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveMovieReader::toResponseDTO)
+                .all();
+    }
+
+    public Mono<MovieResponseDTO> findById(Long id) {
+        return databaseClient.sql(MOVIE_SELECT + " WHERE m.id = :id")
+                .bind("id", id)
+                .map(ReactiveMovieReader::toResponseDTO)
+                .one()
+                .switchIfEmpty(Mono.error(() -> new MovieNotFoundException("Movie not found")));
+    }
+
+    // Same filters and cursor as MovieService.list, but streams every match instead of one page
+    public Flux<MovieListResponseDTO.MovieShortDTO> list(MovieListRequestDTO filter) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (filter.getDirectorId() != null) {
+            conditions.add("director_id = :directorId");
+            params.put("directorId", filter.getDirectorId());
+        }
+        if (filter.getGenre() != null) {
+            conditions.add("genre = :genre");
+            params.put("genre", filter.getGenre());
+        }
+        if (filter.getYear() != null) {
+            conditions.add("year = :year");
+            params.put("year", filter.getYear());
+        }
+        Long afterId = IdCursor.decode(filter.getAfter());
+        if (afterId != null) {
+            conditions.add("id > :afterId");
+            params.put("afterId", afterId);
+        }
+
+        String sql = "SELECT id, title, year FROM movies"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY id";
+        return databaseClient.sql(sql)
+                .bindValues(params)
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(row -> {
+                    MovieListResponseDTO.MovieShortDTO dto = new MovieListResponseDTO.MovieShortDTO();
+                    dto.setId(row.get("id", Long.class));
+                    dto.setTitle(row.get("title", String.class));
+                    dto.setYear(row.get("year", Integer.class));
+                    return dto;
+                })
+                .all();
+    }
+
+    public Flux<DirectorResponseDTO> findAllDirectors() {
+        return databaseClient.sql("SELECT id, name, country FROM directors ORDER BY id")
+                .filter(statement -> statement.fetchSize(fetchSize))
+                .map(ReactiveMovieReader::toDirectorDTO)
+                .all();
+    }
+
+    private static MovieResponseDTO toResponseDTO(Readable row) {
+        MovieResponseDTO dto = new MovieResponseDTO();
+        dto.setId(row.get("id", Long.class));
+        dto.setTitle(row.get("title", String.class));
+        dto.setYear(row.get("year", Integer.class));
+        dto.setGenre(row.get("genre", String.class));
+        MovieResponseDTO.DirectorDTO directorDTO = new MovieResponseDTO.DirectorDTO();
+        directorDTO.setId(row.get("director_id", Long.class));
+        directorDTO.setName(row.get("director_name", String.class));
+        dto.setDirector(directorDTO);
+        return dto;
+    }
+
+    private static DirectorResponseDTO toDirectorDTO(Readable row) {
+        DirectorResponseDTO dto = new DirectorResponseDTO();
+        dto.setId(row.get("id", Long.class));
+        dto.setName(row.get("name", String.class));
+        dto.setCountry(row.get("country", String.class));
+        return dto;
+    }
+}
@@ -0,0 +1,202 @@
+package com.project.movieapi.springbootrestapi.service;
+
+import com.project.movieapi.springbootrestapi.dto.movie.MovieUploadResponseDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.UploadJobStatusDTO;
+import com.project.movieapi.springbootrestapi.exception.UploadFailedException;
+import com.project.movieapi.springbootrestapi.exception.UploadJobNotFoundException;
+import com.project.movieapi.springbootrestapi.exception.UploadRejectedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class UploadJobService {
+    private final MovieImportService movieImportService;
+    private final TaskExecutor uploadJobExecutor;
+    private final Path spoolDir;
+    private final Duration retention;
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+
+    public UploadJobService(MovieImportService movieImportService,
+                            @Qualifier("uploadJobExecutor") TaskExecutor uploadJobExecutor,
+                            @Value("${movies.upload.async.spool-dir:${java.io.tmpdir}/movie-uploads}") Path spoolDir,
+                            @Value("${movies.upload.async.retention:1h}") Duration retention) {
+        this.movieImportService = movieImportService;
+        this.uploadJobExecutor = uploadJobExecutor;
+        this.spoolDir = spoolDir;
+        this.retention = retention;
+    }
+
+    public UploadJobStatusDTO submit(MultipartFile file) throws IOException {
+        UploadJob job = new UploadJob(UUID.randomUUID().toString(), file.getSize());
+        Files.createDirectories(spoolDir);
+        job.file = spoolDir.resolve(job.id + ".json");
+        // Moves the container's temp file when possible, so the request thread is released right away
+        file.transferTo(job.file);
+
+        jobs.put(job.id, job);
+        try {
+            uploadJobExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            deleteSpoolFile(job);
+            throw new UploadRejectedException("Too many uploads in progress, try again later");
+        }
+        return toStatusDTO(job);
+    }
+
+    public UploadJobStatusDTO getStatus(String jobId) {
+        UploadJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new UploadJobNotFoundException("Upload job not found");
+        }
+        return toStatusDTO(job);
+    }
+
+    @Scheduled(fixedDelayString = "${movies.upload.async.cleanup-interval:60000}")
+    public void evictFinishedJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(cutoff));
+    }
+
+    private void run(UploadJob job) {
+        job.startedAt = Instant.now();
+        job.status = JobStatus.RUNNING;
+        try (InputStream in = new CountingInputStream(
+                new BufferedInputStream(Files.newInputStream(job.file)), job.bytesRead)) {
+            MovieUploadResponseDTO result = movieImportService.importMovies(in, (success, failed) -> {
+                job.rowsProcessed = success + failed;
+                job.rowsFailed = failed;
+            });
+            job.rowsProcessed = result.getSuccess() + result.getFailed();
+            job.rowsFailed = result.getFailed();
+            job.result = result;
+            job.status = JobStatus.COMPLETED;
+        } catch (UploadFailedException | IOException e) {
+            job.error = e.getMessage();
+            job.status = JobStatus.FAILED;
+        } catch (RuntimeException e) {
+            job.error = "Upload failed: " + e.getMessage();
+            job.status = JobStatus.FAILED;
+        } finally {
+            job.finishedAt = Instant.now();
+            deleteSpoolFile(job);
+        }
+    }
+
+    private void deleteSpoolFile(UploadJob job) {
+        try {
+            Files.deleteIfExists(job.file);
+        } catch (IOException e) {
+            log.warn("Failed to delete upload spool file {}: {}", job.file, e.getMessage());
+        }
+    }
+
+    private UploadJobStatusDTO toStatusDTO(UploadJob job) {
+        UploadJobStatusDTO dto = new UploadJobStatusDTO();
+        dto.setJobId(job.id);
+        dto.setStatus(job.status.name());
+        dto.setRowsProcessed(job.rowsProcessed);
+        dto.setRowsFailed(job.rowsFailed);
+        dto.setTotalBytes(job.totalBytes);
+        dto.setSubmittedAt(job.submittedAt);
+        dto.setStartedAt(job.startedAt);
+        dto.setFinishedAt(job.finishedAt);
+        dto.setError(job.error);
+        dto.setResult(job.result);
+
+        long bytesRead = job.bytesRead.get();
+        dto.setBytesRead(bytesRead);
+
+        Instant started = job.startedAt;
+        if (started != null) {
+            Instant end = job.finishedAt != null ? job.finishedAt : Instant.now();
+            double elapsedSeconds = Math.max(Duration.between(started, end).toMillis(), 1) / 1000.0;
+            dto.setRowsPerSecond(job.rowsProcessed / elapsedSeconds);
+            // Row count is unknown until the end, so the ETA extrapolates from the share of bytes consumed
+            if (job.status == JobStatus.RUNNING && bytesRead > 0 && job.totalBytes > bytesRead) {
+                dto.setEtaSeconds(Math.round(elapsedSeconds * (job.totalBytes - bytesRead) / bytesRead));
+            } else if (job.finishedAt != null) {
+                dto.setEtaSeconds(0L);
+            }
+        }
+        return dto;
+    }
+
+    private enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private static class UploadJob {
+        private final String id;
+        private final long totalBytes;
+        private final Instant submittedAt = Instant.now();
+        private final AtomicLong bytesRead = new AtomicLong();
+        private Path file;
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile int rowsProcessed;
+        private volatile int rowsFailed;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile String error;
+        private volatile MovieUploadResponseDTO result;
+
+        private UploadJob(String id, long totalBytes) {
+            this.id = id;
+            this.totalBytes = totalBytes;
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private final AtomicLong counter;
+
+        private CountingInputStream(InputStream in, AtomicLong counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                counter.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                counter.addAndGet(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            counter.addAndGet(skipped);
+            return skipped;
+        }
+    }
+}
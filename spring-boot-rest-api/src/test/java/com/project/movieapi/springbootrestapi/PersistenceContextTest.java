@@ -0,0 +1,94 @@
+package com.project.movieapi.springbootrestapi;
+
+import com.project.movieapi.springbootrestapi.config.CacheConfig;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieRequestDTO;
+import com.project.movieapi.springbootrestapi.entity.Director;
+import com.project.movieapi.springbootrestapi.repository.DirectorRepository;
+import com.project.movieapi.springbootrestapi.service.MovieSearchIndex;
+import com.project.movieapi.springbootrestapi.service.MovieService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Both stacks against one in-memory H2 database: JPA on the JDBC DataSource, the streamed reads on R2DBC
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:context;MODE=PostgreSQL;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///context?options=MODE=PostgreSQL;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "scheduling.enabled=false"
+})
+class PersistenceContextTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DirectorRepository directorRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private MovieSearchIndex searchIndex;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void jpaWritesAreVisibleToR2dbc() {
+        assertNotNull(dataSource);
+
+        Director director = new Director();
+        director.setName("Christopher Nolan");
+        director.setCountry("UK");
+        Long id = directorRepository.save(director).getId();
+
+        String name = databaseClient.sql("SELECT name FROM directors WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("name", String.class))
+                .one()
+                .block();
+        assertEquals("Christopher Nolan", name);
+    }
+
+    @Test
+    void rolledBackCreateLeavesNoCacheEntryOrSearchHit() {
+        Director director = new Director();
+        director.setName("Denis Villeneuve");
+        Long directorId = directorRepository.save(director).getId();
+
+        MovieRequestDTO dto = new MovieRequestDTO();
+        dto.setTitle("Arrival");
+        dto.setYear(2016);
+        dto.setGenre("Sci-Fi");
+        dto.setDirectorId(directorId);
+
+        Long movieId = new TransactionTemplate(transactionManager).execute(status -> {
+            Long id = movieService.create(dto).getId();
+            status.setRollbackOnly();
+            return id;
+        });
+
+        assertNull(cacheManager.getCache(CacheConfig.MOVIES).get(movieId));
+        assertTrue(searchIndex.search("arrival", 10).isEmpty());
+    }
+}
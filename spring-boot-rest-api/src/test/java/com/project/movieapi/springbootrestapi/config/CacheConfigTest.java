@@ -0,0 +1,81 @@
+package com.project.movieapi.springbootrestapi.config;
+
+import com.project.movieapi.springbootrestapi.dto.movie.MovieListRequestDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieListResponseDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieResponseDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CacheConfigTest {
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setup() throws Exception {
+        CachingProvider provider = Caching.getCachingProvider();
+        cacheManager = provider.getCacheManager(
+                getClass().getResource("/ehcache.xml").toURI(), getClass().getClassLoader());
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void testAllCachesAreConfigured() {
+        for (String name : List.of(CacheConfig.MOVIES, CacheConfig.MOVIE_LISTS,
+                CacheConfig.DIRECTORS, CacheConfig.DIRECTOR_LIST)) {
+            assertNotNull(cacheManager.getCache(name), "Missing cache: " + name);
+        }
+    }
+
+    @Test
+    void testMovieRoundTrip() {
+        Cache<Object, Object> cache = cacheManager.getCache(CacheConfig.MOVIES);
+
+        MovieResponseDTO movie = new MovieResponseDTO();
+        movie.setId(1L);
+        movie.setTitle("Inception");
+        MovieResponseDTO.DirectorDTO director = new MovieResponseDTO.DirectorDTO();
+        director.setName("Nolan");
+        movie.setDirector(director);
+
+        cache.put(1L, movie);
+
+        MovieResponseDTO cached = (MovieResponseDTO) cache.get(1L);
+        assertEquals("Inception", cached.getTitle());
+        assertEquals("Nolan", cached.getDirector().getName());
+    }
+
+    @Test
+    void testListKeyMatchesEqualFilters() {
+        Cache<Object, Object> cache = cacheManager.getCache(CacheConfig.MOVIE_LISTS);
+
+        MovieListRequestDTO filter = new MovieListRequestDTO();
+        filter.setGenre("Sci-Fi");
+        filter.setSize(10);
+        cache.put(filter, new MovieListResponseDTO());
+
+        MovieListRequestDTO sameFilter = new MovieListRequestDTO();
+        sameFilter.setGenre("Sci-Fi");
+        sameFilter.setSize(10);
+
+        MovieListRequestDTO otherPage = new MovieListRequestDTO();
+        otherPage.setGenre("Sci-Fi");
+        otherPage.setSize(10);
+        otherPage.setPage(1);
+
+        assertNotNull(cache.get(sameFilter));
+        assertNull(cache.get(otherPage));
+    }
+}
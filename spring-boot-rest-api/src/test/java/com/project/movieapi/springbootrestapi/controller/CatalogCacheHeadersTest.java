@@ -0,0 +1,75 @@
+package com.project.movieapi.springbootrestapi.controller;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.project.movieapi.springbootrestapi.security.IdentityHeaderResolver;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Goes through the real security filter chain: Spring Security writes "no-cache, no-store" unless the controller has
+// already set Cache-Control, and the gateway only caches what this header allows
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:headers;MODE=PostgreSQL;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.r2dbc.url=r2dbc:h2:mem:///headers?options=MODE=PostgreSQL;NON_KEYWORDS=YEAR;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "scheduling.enabled=false",
+        "security.identity.secret=" + CatalogCacheHeadersTest.SECRET,
+        "movies.http.shared-max-age=30s"
+})
+@AutoConfigureMockMvc
+class CatalogCacheHeadersTest {
+
+    static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static String identity() throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(IdentityHeaderResolver.ISSUER)
+                .subject("1234")
+                .issueTime(Date.from(Instant.now()))
+                .expirationTime(Date.from(Instant.now().plusSeconds(60)))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(SECRET.getBytes(StandardCharsets.UTF_8)));
+        return jwt.serialize();
+    }
+
+    @Test
+    void catalogGets_shouldBeCacheableBySharedCaches() throws Exception {
+        for (String path : new String[]{"/api/movies", "/api/directors"}) {
+            mockMvc.perform(get(path).header(IdentityHeaderResolver.HEADER, identity()))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=0, s-maxage=30"))
+                    .andExpect(header().doesNotExist(HttpHeaders.PRAGMA))
+                    .andExpect(header().doesNotExist(HttpHeaders.EXPIRES));
+        }
+    }
+
+    @Test
+    void otherResponses_shouldKeepSecurityDefaults() throws Exception {
+        mockMvc.perform(get("/api/movies/upload/unknown").header(IdentityHeaderResolver.HEADER, identity()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, max-age=0, must-revalidate"));
+    }
+}
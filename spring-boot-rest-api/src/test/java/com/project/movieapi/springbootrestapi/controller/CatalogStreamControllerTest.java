@@ -0,0 +1,116 @@
+package com.project.movieapi.springbootrestapi.controller;
+
+import com.project.movieapi.springbootrestapi.dto.movie.MovieResponseDTO;
+import com.project.movieapi.springbootrestapi.exception.GlobalExceptionHandler;
+import com.project.movieapi.springbootrestapi.exception.MovieNotFoundException;
+import com.project.movieapi.springbootrestapi.service.MovieImportService;
+import com.project.movieapi.springbootrestapi.service.MovieService;
+import com.project.movieapi.springbootrestapi.service.ReactiveMovieReader;
+import com.project.movieapi.springbootrestapi.service.UploadJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class CatalogStreamControllerTest {
+
+    private MovieService movieService;
+    private ReactiveMovieReader reader;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setup() {
+        movieService = mock(MovieService.class);
+        reader = mock(ReactiveMovieReader.class);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                        new MovieController(movieService, mock(MovieImportService.class), mock(UploadJobService.class),
+                                CacheControl.noCache()),
+                        new CatalogStreamController(reader))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    private static MovieResponseDTO movie(long id, String title) {
+        MovieResponseDTO dto = new MovieResponseDTO();
+        dto.setId(id);
+        dto.setTitle(title);
+        return dto;
+    }
+
+    @Test
+    void getAll_shouldStreamEvents_whenEventStreamAccepted() throws Exception {
+        when(reader.findAll()).thenReturn(Flux.just(movie(1, "Inception"), movie(2, "Dune")));
+
+        MvcResult result = mockMvc.perform(get("/api/movies").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("\"title\":\"Inception\"")))
+                .andExpect(content().string(containsString("\"title\":\"Dune\"")));
+        verifyNoInteractions(movieService);
+    }
+
+    @Test
+    void getAll_shouldKeepJsonArray_forOtherClients() throws Exception {
+        when(movieService.getAll()).thenReturn(List.of(movie(1, "Inception")));
+
+        mockMvc.perform(get("/api/movies").accept(MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN, MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].title").value("Inception"));
+        mockMvc.perform(get("/api/movies"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Inception"));
+        verifyNoInteractions(reader);
+    }
+
+    @Test
+    void getAll_shouldWriteNdjson_whenNdjsonAccepted() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(0).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(movieService).writeNdjson(any());
+
+        MvcResult result = mockMvc.perform(get("/api/movies").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
+        verify(movieService, never()).getAll();
+        verifyNoInteractions(reader);
+    }
+
+    @Test
+    void getById_shouldReturnNotFound_whenStreamFindsNothing() throws Exception {
+        when(reader.findById(99L)).thenReturn(Mono.error(new MovieNotFoundException("Movie not found")));
+
+        MvcResult result = mockMvc.perform(get("/api/movies/99").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -92,6 +93,36 @@ class MovieControllerIntegrationTest {
                 .andExpect(jsonPath("$.director").exists());
     }
 
+    @Test
+    void testBatchGetMovies() throws Exception {
+        String movieJson = """
+            {
+              "title": "Inception Test",
+              "year": 2010,
+              "genre": "Sci-Fi",
+              "directorId": %d
+            }
+        """.formatted(directorId);
+
+        String response = mockMvc.perform(post("/api/movies")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(movieJson))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        int movieId = JsonPath.read(response, "$.id");
+
+        mockMvc.perform(post("/api/movies/_batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [%d, 999999999]}".formatted(movieId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.movies[0].id").value(movieId))
+                .andExpect(jsonPath("$.movies[0].director").exists())
+                .andExpect(jsonPath("$.missing[0]").value(999999999));
+    }
+
     @Test
     void testUploadMovies() throws Exception {
         String jsonArray = """
@@ -198,6 +229,75 @@ class MovieControllerIntegrationTest {
                 .andExpect(jsonPath("$.totalPages").exists());
     }
 
+    @Test
+    void testListMoviesWithCursor() throws Exception {
+        for (String title : new String[]{"Memento Test", "Insomnia Test", "Oppenheimer Test"}) {
+            String movieJson = """
+                {
+                  "title": "%s",
+                  "year": 2005,
+                  "genre": "Drama",
+                  "directorId": %d
+                }
+            """.formatted(title, directorId);
+
+            mockMvc.perform(post("/api/movies")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(movieJson))
+                    .andExpect(status().isCreated());
+        }
+
+        String firstPage = mockMvc.perform(post("/api/movies/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            { "directorId": %d, "size": 2, "includeTotal": false }
+                        """.formatted(directorId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(2))
+                .andExpect(jsonPath("$.totalPages").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").isString())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String cursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        mockMvc.perform(post("/api/movies/_list")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            { "directorId": %d, "size": 2, "after": "%s" }
+                        """.formatted(directorId, cursor)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.list.length()").value(1))
+                .andExpect(jsonPath("$.list[0].title").value("Oppenheimer Test"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void testSearchMoviesByTitle() throws Exception {
+        String movieJson = """
+            {
+              "title": "The Prestige Search Test",
+              "year": 2006,
+              "genre": "Drama",
+              "directorId": %d
+            }
+        """.formatted(directorId);
+
+        mockMvc.perform(post("/api/movies")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(movieJson))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/movies/_search").param("q", "prestig"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("The Prestige Search Test"));
+
+        mockMvc.perform(get("/api/movies/_search").param("q", "prestge search"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("The Prestige Search Test"));
+    }
+
     @Test
     void testGenerateReport() throws Exception {
         String filterJson = """
@@ -214,6 +314,20 @@ class MovieControllerIntegrationTest {
                         Matchers.containsString("movies_report.csv")));
     }
 
+    @Test
+    void testGenerateReportStreamsCsv() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/movies/_report")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(Matchers.startsWith("Id,Title,Year,Genre,Director")));
+    }
+
     @Test
     void testCreateMovieInvalidTitle() throws Exception {
         String movieJson = """
@@ -0,0 +1,126 @@
+package com.project.movieapi.springbootrestapi.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CachingJwtDecoderTest {
+
+    private static final String ISSUER = "https://accounts.google.com";
+
+    private RSAKey key;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final Instant[] now = {Instant.now()};
+    private final Clock clock = new Clock() {
+        @Override public Instant instant() { return now[0]; }
+        @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(ZoneId zone) { return this; }
+    };
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() throws JOSEException {
+        key = new RSAKeyGenerator(2048).keyID("k1").generate();
+        NimbusJwtDecoder verifier = NimbusJwtDecoder.withJwkSource(new ImmutableJWKSet<SecurityContext>(new JWKSet(key.toPublicJWK()))).build();
+        verifier.setJwtValidator(JwtValidators.createDefaultWithIssuer(ISSUER));
+        JwtDecoder counting = token -> {
+            verifications.incrementAndGet();
+            return verifier.decode(token);
+        };
+        decoder = new CachingJwtDecoder(counting, meterRegistry, 2, clock);
+        // Key generation can take over a second; start the clock after it so token expiries line up
+        now[0] = Instant.now();
+    }
+
+    private String token(String subject, Instant expiresAt) throws JOSEException {
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("k1").build(),
+                new JWTClaimsSet.Builder().issuer(ISSUER).subject(subject)
+                        .issueTime(Date.from(Instant.now().minusSeconds(5))).expirationTime(Date.from(expiresAt)).build());
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+
+    @Test
+    void shouldVerifyTokenOnlyOnce_untilItExpires() throws JOSEException {
+        String token = token("user-1", Instant.now().plusSeconds(3600));
+
+        Jwt first = decoder.decode(token);
+        Jwt second = decoder.decode(token);
+
+        assertEquals("user-1", second.getSubject());
+        assertEquals(first, second);
+        assertEquals(1, verifications.get());
+        assertEquals(1.0, meterRegistry.get("security.jwt.cache").tag("result", "hit").counter().count());
+        assertEquals(1, meterRegistry.get("security.jwt.verify").tag("outcome", "valid").timer().count());
+    }
+
+    @Test
+    void shouldVerifyAgain_afterCachedTokenExpired() throws JOSEException {
+        String token = token("user-1", Instant.now().plusSeconds(60));
+        decoder.decode(token);
+
+        now[0] = now[0].plusSeconds(61);
+
+        // The delegate's own clock still considers it valid (60s skew); the cache no longer serves it
+        decoder.decode(token);
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void shouldNotCacheRejectedTokens() throws JOSEException {
+        String token = token("user-1", Instant.now().plusSeconds(3600));
+        String tampered = token.substring(0, token.length() - 4) + "AAAA";
+
+        assertThrows(JwtException.class, () -> decoder.decode(tampered));
+        assertThrows(JwtException.class, () -> decoder.decode(tampered));
+
+        assertEquals(2, verifications.get());
+        assertEquals(0, decoder.size());
+        assertEquals(2, meterRegistry.get("security.jwt.verify").tag("outcome", "invalid").timer().count());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsed_whenFull() throws JOSEException {
+        Instant exp = Instant.now().plusSeconds(3600);
+        String a = token("a", exp);
+        String b = token("b", exp);
+        String c = token("c", exp);
+        decoder.decode(a);
+        decoder.decode(b);
+        decoder.decode(a);
+        decoder.decode(c);
+
+        decoder.decode(a);
+        decoder.decode(b);
+
+        assertEquals(2, decoder.size());
+        assertEquals(4, verifications.get());
+    }
+}
@@ -0,0 +1,111 @@
+package com.project.movieapi.springbootrestapi.security;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IdentityHeaderResolverTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final AtomicInteger bearerDecodes = new AtomicInteger();
+    private final JwtDecoder bearerDecoder = token -> {
+        bearerDecodes.incrementAndGet();
+        throw new BadJwtException("not a Google token");
+    };
+
+    private static String identity(String secret, String issuer, Instant expiresAt) throws JOSEException {
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(issuer)
+                .subject("1234")
+                .claim("email", "user@example.com")
+                .issueTime(Date.from(Instant.now()))
+                .expirationTime(Date.from(expiresAt))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        jwt.sign(new MACSigner(secret.getBytes(StandardCharsets.UTF_8)));
+        return jwt.serialize();
+    }
+
+    private static Authentication authenticate(IdentityHeaderResolver resolver, MockHttpServletRequest request) {
+        AuthenticationManager manager = resolver.resolve(request);
+        String token = resolver.tokenResolver().resolve(request);
+        return manager.authenticate(new BearerTokenAuthenticationToken(token));
+    }
+
+    @Test
+    void shouldAuthenticateSignedIdentityWithoutBearerDecoder() throws JOSEException {
+        IdentityHeaderResolver resolver = new IdentityHeaderResolver(bearerDecoder, SECRET);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(IdentityHeaderResolver.HEADER,
+                identity(SECRET, IdentityHeaderResolver.ISSUER, Instant.now().plusSeconds(60)));
+
+        Authentication authentication = authenticate(resolver, request);
+
+        JwtAuthenticationToken jwt = (JwtAuthenticationToken) authentication;
+        assertEquals("1234", jwt.getName());
+        assertEquals("user@example.com", jwt.getToken().getClaimAsString("email"));
+        assertEquals(0, bearerDecodes.get());
+    }
+
+    @Test
+    void shouldRejectIdentitySignedWithAnotherSecret() throws JOSEException {
+        IdentityHeaderResolver resolver = new IdentityHeaderResolver(bearerDecoder, SECRET);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(IdentityHeaderResolver.HEADER,
+                identity("fedcba9876543210fedcba9876543210", IdentityHeaderResolver.ISSUER, Instant.now().plusSeconds(60)));
+
+        assertThrows(AuthenticationException.class, () -> authenticate(resolver, request));
+        assertEquals(0, bearerDecodes.get());
+    }
+
+    @Test
+    void shouldRejectExpiredIdentity() throws JOSEException {
+        IdentityHeaderResolver resolver = new IdentityHeaderResolver(bearerDecoder, SECRET);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(IdentityHeaderResolver.HEADER,
+                identity(SECRET, IdentityHeaderResolver.ISSUER, Instant.now().minusSeconds(600)));
+
+        assertThrows(AuthenticationException.class, () -> authenticate(resolver, request));
+    }
+
+    @Test
+    void shouldIgnoreIdentityHeader_whenNoSecretConfigured() throws JOSEException {
+        IdentityHeaderResolver resolver = new IdentityHeaderResolver(bearerDecoder, "");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(IdentityHeaderResolver.HEADER,
+                identity(SECRET, IdentityHeaderResolver.ISSUER, Instant.now().plusSeconds(60)));
+        request.addHeader("Authorization", "Bearer google-id-token");
+
+        assertFalse(resolver.isEnabled());
+        assertEquals("google-id-token", resolver.tokenResolver().resolve(request));
+        assertThrows(AuthenticationException.class, () -> authenticate(resolver, request));
+        assertEquals(1, bearerDecodes.get());
+    }
+
+    @Test
+    void shouldRejectShortSecret() {
+        assertThrows(IllegalStateException.class, () -> new IdentityHeaderResolver(bearerDecoder, "too-short"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.project.movieapi.springbootrestapi.security;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwksKeySourceTest {
+
+    private HttpServer server;
+    private final AtomicReference<JWKSet> served = new AtomicReference<>();
+    private final AtomicInteger fetches = new AtomicInteger();
+    private String jwksUri;
+
+    @BeforeEach
+    void startJwksServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/certs", exchange -> {
+            fetches.incrementAndGet();
+            byte[] body = served.get().toString(true).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        jwksUri = "http://127.0.0.1:" + server.getAddress().getPort() + "/certs";
+    }
+
+    @AfterEach
+    void stopJwksServer() {
+        server.stop(0);
+    }
+
+    private static RSAKey rsaKey(String kid) throws Exception {
+        return new RSAKeyGenerator(2048).keyID(kid).algorithm(JWSAlgorithm.RS256).generate();
+    }
+
+    private static JWKSelector selector(String kid) {
+        return new JWKSelector(new JWKMatcher.Builder().keyID(kid).build());
+    }
+
+    @Test
+    void shouldPrefetchKeysAtStartup() throws Exception {
+        served.set(new JWKSet(rsaKey("k1").toPublicJWK()));
+        JwksKeySource source = new JwksKeySource(jwksUri, Duration.ofSeconds(30), Clock.systemUTC());
+
+        source.afterSingletonsInstantiated();
+
+        assertEquals(1, source.size());
+        assertEquals(1, source.get(selector("k1"), null).size());
+        assertEquals(1, fetches.get());
+    }
+
+    @Test
+    void shouldFetchOnce_whenUnknownKeyAppearsAfterRotation() throws Exception {
+        served.set(new JWKSet(rsaKey("k1").toPublicJWK()));
+        Instant[] now = {Instant.parse("2026-10-17T12:00:00Z")};
+        Clock clock = new Clock() {
+            @Override public Instant instant() { return now[0]; }
+            @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+            @Override public Clock withZone(ZoneId zone) { return this; }
+        };
+        JwksKeySource source = new JwksKeySource(jwksUri, Duration.ofSeconds(30), clock);
+        source.afterSingletonsInstantiated();
+        served.set(new JWKSet(List.of(rsaKey("k1").toPublicJWK(), rsaKey("k2").toPublicJWK())));
+
+        assertTrue(source.get(selector("k2"), null).isEmpty());
+        now[0] = now[0].plusSeconds(31);
+        assertEquals(1, source.get(selector("k2"), null).size());
+        assertTrue(source.get(selector("k3"), null).isEmpty());
+
+        assertEquals(2, fetches.get());
+    }
+
+    @Test
+    void shouldKeepCachedKeys_whenRefreshFails() throws Exception {
+        served.set(new JWKSet(rsaKey("k1").toPublicJWK()));
+        JwksKeySource source = new JwksKeySource(jwksUri, Duration.ZERO, Clock.systemUTC());
+        source.afterSingletonsInstantiated();
+        server.stop(0);
+
+        source.scheduledRefresh();
+
+        assertEquals(1, source.get(selector("k1"), null).size());
+    }
+}
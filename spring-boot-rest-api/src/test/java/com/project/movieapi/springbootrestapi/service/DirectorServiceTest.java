@@ -17,12 +17,14 @@ import static org.mockito.Mockito.*;
 class DirectorServiceTest {
 
     private DirectorRepository directorRepository;
+    private MovieSearchIndex searchIndex;
     private DirectorService directorService;
 
     @BeforeEach
     void setup() {
         directorRepository = mock(DirectorRepository.class);
-        directorService = new DirectorService(directorRepository);
+        searchIndex = mock(MovieSearchIndex.class);
+        directorService = new DirectorService(directorRepository, searchIndex);
     }
 
     @Test
@@ -46,6 +48,27 @@ class DirectorServiceTest {
         assertEquals("UK", response.getCountry());
     }
 
+    @Test
+    void testGetByIdSuccess() {
+        Director director = new Director();
+        director.setId(1L);
+        director.setName("Nolan");
+        director.setCountry("UK");
+
+        when(directorRepository.findById(1L)).thenReturn(Optional.of(director));
+
+        var response = directorService.getById(1L);
+
+        assertEquals("Nolan", response.getName());
+        assertEquals("UK", response.getCountry());
+    }
+
+    @Test
+    void testGetByIdNotFound() {
+        when(directorRepository.findById(99L)).thenReturn(Optional.empty());
+        assertThrows(DirectorNotFoundException.class, () -> directorService.getById(99L));
+    }
+
     @Test
     void testUpdateDirectorDuplicateName() {
         Director existing = new Director();
@@ -129,6 +152,7 @@ class DirectorServiceTest {
         directorService.delete(1L);
 
         verify(directorRepository, times(1)).deleteById(1L);
+        verify(searchIndex, times(1)).removeByDirector(1L);
     }
 
     @Test
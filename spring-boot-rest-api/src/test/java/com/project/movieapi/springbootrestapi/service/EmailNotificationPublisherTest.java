@@ -0,0 +1,60 @@
+package com.project.movieapi.springbootrestapi.service;
+
+import com.project.movieapi.springbootrestapi.dto.email.EmailMessageDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EmailNotificationPublisherTest {
+
+    private RabbitTemplate rabbitTemplate;
+    private RabbitOperations channelOperations;
+    private EmailNotificationPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        rabbitTemplate = mock(RabbitTemplate.class);
+        channelOperations = mock(RabbitOperations.class);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation -> {
+            RabbitOperations.OperationsCallback<?> callback = invocation.getArgument(0);
+            return callback.doInRabbit(channelOperations);
+        });
+        publisher = new EmailNotificationPublisher(rabbitTemplate, Duration.ofSeconds(5));
+    }
+
+    private EmailMessageDto message(String title) {
+        return new EmailMessageDto("admin@movieapi.com", "New Movie Created", title);
+    }
+
+    @Test
+    void testPublishAllWaitsForConfirmsOncePerBatch() {
+        publisher.publishAll(List.of(message("Inception"), message("Tenet"), message("Dunkirk")));
+
+        verify(rabbitTemplate, times(1)).invoke(any());
+        verify(channelOperations, times(3)).convertAndSend(eq("email_queue"), any(EmailMessageDto.class));
+        verify(channelOperations, times(1)).waitForConfirmsOrDie(5000);
+    }
+
+    @Test
+    void testPublishAllFailsWhenBrokerNacks() {
+        doThrow(new AmqpException("nack")).when(channelOperations).waitForConfirmsOrDie(anyLong());
+
+        assertThrows(AmqpException.class, () -> publisher.publishAll(List.of(message("Inception"))));
+    }
+
+    @Test
+    void testPublishAllSkipsEmptyBatch() {
+        publisher.publishAll(List.of());
+
+        verifyNoInteractions(rabbitTemplate);
+    }
+}
@@ -0,0 +1,284 @@
+package com.project.movieapi.springbootrestapi.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.movieapi.springbootrestapi.config.CacheConfig;
+import com.project.movieapi.springbootrestapi.config.UploadConfig;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieUploadResponseDTO;
+import com.project.movieapi.springbootrestapi.entity.Director;
+import com.project.movieapi.springbootrestapi.entity.Movie;
+import com.project.movieapi.springbootrestapi.exception.UploadFailedException;
+import com.project.movieapi.springbootrestapi.exception.UploadRejectedException;
+import com.project.movieapi.springbootrestapi.repository.DirectorRepository;
+import com.project.movieapi.springbootrestapi.repository.MovieRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MovieImportServiceTest {
+
+    private MovieRepository movieRepository;
+    private DirectorRepository directorRepository;
+    private NotificationOutbox notificationOutbox;
+    private CacheManager cacheManager;
+    private MovieImportService importService;
+
+    @BeforeEach
+    void setup() {
+        movieRepository = mock(MovieRepository.class);
+        directorRepository = mock(DirectorRepository.class);
+        notificationOutbox = mock(NotificationOutbox.class);
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.MOVIE_LISTS);
+
+        importService = service(Validation.buildDefaultValidatorFactory().getValidator(),
+                new SimpleAsyncTaskExecutor("movie-import-"));
+
+        Director director = new Director();
+        director.setId(1L);
+        director.setName("Nolan");
+        when(directorRepository.findAllById(anyIterable())).thenAnswer(inv -> {
+            Iterable<Long> ids = inv.getArgument(0);
+            for (Long id : ids) {
+                if (id == 1L) {
+                    return List.of(director);
+                }
+            }
+            return List.of();
+        });
+        when(directorRepository.getReferenceById(1L)).thenReturn(director);
+    }
+
+    private MovieImportService service(Validator validator, AsyncTaskExecutor stageExecutor) {
+        return new MovieImportService(movieRepository, directorRepository, new ObjectMapper(),
+                mock(EntityManager.class), mock(MovieSearchIndex.class), notificationOutbox, cacheManager, validator,
+                mock(PlatformTransactionManager.class), stageExecutor, 2, 10, 2, 4);
+    }
+
+    private MovieUploadResponseDTO upload(String json) {
+        return importService.importMovies(new ByteArrayInputStream(json.getBytes()));
+    }
+
+    @Test
+    void testUploadValidJson() {
+        MovieUploadResponseDTO result = upload("""
+                [
+                  {"title":"Inception","year":2010,"genre":"Sci-Fi","directorId":1}
+                ]
+                """);
+
+        assertEquals(1, result.getSuccess());
+        assertEquals(0, result.getFailed());
+        assertTrue(result.getErrors().isEmpty());
+        verify(movieRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void testUploadInsertsInBatchesAndResolvesDirectorsOnce() {
+        MovieUploadResponseDTO result = upload("""
+                [
+                  {"title":"Inception","year":2010,"genre":"Sci-Fi","directorId":1},
+                  {"title":"Tenet","year":2020,"genre":"Sci-Fi","directorId":1},
+                  {"title":"Dunkirk","year":2017,"genre":"War","directorId":1}
+                ]
+                """);
+
+        assertEquals(3, result.getSuccess());
+        verify(movieRepository, times(2)).saveAll(anyList());
+        verify(directorRepository, times(1)).findAllById(anyIterable());
+        verify(movieRepository, never()).save(any(Movie.class));
+    }
+
+    @Test
+    void testUploadReportsUnknownDirector() {
+        MovieUploadResponseDTO result = upload("""
+                [
+                  {"title":"Inception","year":2010,"genre":"Sci-Fi","directorId":1},
+                  {"title":"Unknown","year":2011,"genre":"Drama","directorId":42}
+                ]
+                """);
+
+        assertEquals(1, result.getSuccess());
+        assertEquals(1, result.getFailed());
+        MovieUploadResponseDTO.RowErrorDTO error = result.getErrors().get(0);
+        assertEquals(2, error.getRow());
+        assertEquals("Unknown", error.getTitle());
+        assertEquals("Director not found", error.getMessage());
+    }
+
+    @Test
+    void testFailedChunkIsReplayedRowByRow() {
+        when(movieRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("batch failed"));
+        when(movieRepository.save(any(Movie.class))).thenAnswer(inv -> {
+            Movie movie = inv.getArgument(0);
+            if (movie.getTitle().equals("Tenet")) {
+                throw new DataIntegrityViolationException("duplicate key value violates unique constraint \"uk_movies_title\"");
+            }
+            return movie;
+        });
+
+        MovieUploadResponseDTO result = upload("""
+                [
+                  {"title":"Inception","year":2010,"genre":"Sci-Fi","directorId":1},
+                  {"title":"Tenet","year":2020,"genre":"Sci-Fi","directorId":1}
+                ]
+                """);
+
+        assertEquals(1, result.getSuccess());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getMessage().contains("uk_movies_title"));
+        verify(notificationOutbox, times(1)).movieCreated(argThat(movie -> movie.getTitle().equals("Inception")), eq("Nolan"));
+        verify(notificationOutbox, never()).movieCreated(argThat(movie -> movie.getTitle().equals("Tenet")), any());
+    }
+
+    @Test
+    void testUploadWritesNotificationsWithEachChunk() {
+        when(movieRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        upload("""
+                [
+                  {"title":"Inception","year":2010,"genre":"Sci-Fi","directorId":1},
+                  {"title":"Tenet","year":2020,"genre":"Sci-Fi","directorId":1},
+                  {"title":"Dunkirk","year":2017,"genre":"War","directorId":1}
+                ]
+                """);
+
+        verify(notificationOutbox, times(2)).moviesCreated(anyList(), argThat(names -> "Nolan".equals(names.get(1L))));
+        verify(notificationOutbox, times(1)).moviesCreated(argThat(movies -> movies.size() == 1), anyMap());
+    }
+
+    @Test
+    void testInvalidRowsAreRejectedBeforeTheDatabase() {
+        MovieUploadResponseDTO result = upload("""
+                [
+                  {"title":"Inception","year":2010,"genre":"Sci-Fi","directorId":1},
+                  {"year":2011,"genre":"Drama","directorId":1},
+                  {"title":"Metropolis","year":1850,"genre":"Drama","directorId":1},
+                  {"title":"Tenet","year":2020,"genre":"Sci-Fi","directorId":1}
+                ]
+                """);
+
+        assertEquals(2, result.getSuccess());
+        assertEquals(2, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertEquals("title: must not be blank", result.getErrors().get(0).getMessage());
+        assertEquals(3, result.getErrors().get(1).getRow());
+        assertTrue(result.getErrors().get(1).getMessage().startsWith("year:"));
+        verify(movieRepository, times(1)).saveAll(argThat(movies -> ((List<?>) movies).size() == 2));
+    }
+
+    @Test
+    void testRowsAfterInvalidJsonAreNotImported() {
+        assertThrows(UploadFailedException.class, () -> upload("""
+                [
+                  {"title":"Inception","year":2010,"genre":"Sci-Fi","directorId":1},
+                  {"title":"Tenet","year":"unknown","genre":"Sci-Fi","directorId":1},
+                  {"title":"Dunkirk","year":2017,"genre":"War","directorId":1}
+                ]
+                """));
+
+        verify(movieRepository, never()).saveAll(argThat(movies -> ((List<?>) movies).size() > 1));
+    }
+
+    @Test
+    void testFailedUploadStillEvictsListsForCommittedChunks() {
+        cacheManager.getCache(CacheConfig.MOVIE_LISTS).put("page-0", "before the upload");
+        when(movieRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        assertThrows(UploadFailedException.class, () -> upload("""
+                [
+                  {"title":"Inception","year":2010,"genre":"Sci-Fi","directorId":1},
+                  {"title":"Tenet","year":2020,"genre":"Sci-Fi","directorId":1},
+                  {"title":"Dunkirk","year":"unknown","genre":"War","directorId":1}
+                ]
+                """));
+
+        verify(movieRepository).saveAll(argThat(movies -> ((List<?>) movies).size() == 2));
+        assertNull(cacheManager.getCache(CacheConfig.MOVIE_LISTS).get("page-0"));
+    }
+
+    @Test
+    void testErrorReportIsCapped() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 15; i++) {
+            json.append(i > 0 ? "," : "").append("{\"title\":\"M\",\"year\":2000,\"genre\":\"Drama\",\"directorId\":42}");
+        }
+        MovieUploadResponseDTO result = upload(json.append("]").toString());
+
+        assertEquals(15, result.getFailed());
+        assertEquals(10, result.getErrors().size());
+        assertTrue(result.isErrorsTruncated());
+    }
+
+    @Test
+    void testUploadInvalidJson() {
+        assertThrows(UploadFailedException.class, () -> upload("{ \"invalid\": \"json\" }"));
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    void testUploadRejectsNonObjectElements() {
+        assertThrows(UploadFailedException.class, () -> upload("""
+                [
+                  {"title":"Inception","year":2010,"genre":"Sci-Fi","directorId":1},
+                  null
+                ]
+                """));
+        assertThrows(UploadFailedException.class, () -> upload("[42]"));
+    }
+
+    @Test
+    void testValidatorFailureFailsTheUploadInsteadOfHanging() {
+        Validator broken = mock(Validator.class);
+        when(broken.validate(any())).thenThrow(new IllegalStateException("validator down"));
+        importService = service(broken, new SimpleAsyncTaskExecutor("movie-import-"));
+
+        UploadFailedException e = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(
+                UploadFailedException.class,
+                () -> upload("[{\"title\":\"Inception\",\"year\":2010,\"genre\":\"Sci-Fi\",\"directorId\":1}]")));
+        assertTrue(e.getMessage().contains("validator down"));
+    }
+
+    @Test
+    void testUploadIsRejectedWhenStagePoolIsFull() {
+        // Room for one import with two validators, all taken by another upload
+        ThreadPoolTaskExecutor pool = new UploadConfig().uploadStageExecutor(2, 1);
+        pool.initialize();
+        CountDownLatch otherUpload = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 3; i++) {
+                pool.execute(() -> {
+                    try {
+                        otherUpload.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            importService = service(Validation.buildDefaultValidatorFactory().getValidator(), pool);
+
+            assertThrows(UploadRejectedException.class, () -> upload("[]"));
+            verifyNoInteractions(movieRepository);
+        } finally {
+            otherUpload.countDown();
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.project.movieapi.springbootrestapi.service;
+
+import com.project.movieapi.springbootrestapi.dto.movie.MovieSearchResultDTO;
+import com.project.movieapi.springbootrestapi.entity.Director;
+import com.project.movieapi.springbootrestapi.entity.Movie;
+import com.project.movieapi.springbootrestapi.repository.MovieRepository;
+import com.project.movieapi.springbootrestapi.repository.MovieTitleView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MovieSearchIndexTest {
+
+    private MovieRepository movieRepository;
+    private MovieSearchIndex searchIndex;
+
+    @BeforeEach
+    void setup() {
+        movieRepository = mock(MovieRepository.class);
+        searchIndex = new MovieSearchIndex(movieRepository, mock(PlatformTransactionManager.class));
+
+        searchIndex.index(movie(1L, "The Dark Knight", 2008, 1L));
+        searchIndex.index(movie(2L, "The Dark Knight Rises", 2012, 1L));
+        searchIndex.index(movie(3L, "Interstellar", 2014, 1L));
+        searchIndex.index(movie(4L, "Amélie", 2001, 2L));
+        searchIndex.index(movie(5L, "Darkest Hour", 2017, 3L));
+    }
+
+    private Movie movie(Long id, String title, int year, Long directorId) {
+        Director director = new Director();
+        director.setId(directorId);
+        Movie movie = new Movie();
+        movie.setId(id);
+        movie.setTitle(title);
+        movie.setYear(year);
+        movie.setDirector(director);
+        return movie;
+    }
+
+    private List<Long> ids(List<MovieSearchResultDTO> results) {
+        return results.stream().map(MovieSearchResultDTO::getId).toList();
+    }
+
+    @Test
+    void testExactMatchesRankAbovePrefixMatches() {
+        List<MovieSearchResultDTO> results = searchIndex.search("dark", 10);
+
+        assertEquals(List.of(1L, 2L, 5L), ids(results));
+        assertTrue(results.get(0).getScore() > results.get(2).getScore());
+    }
+
+    @Test
+    void testPrefixOfLastWordWhileTyping() {
+        assertEquals(List.of(2L), ids(searchIndex.search("dark knight ri", 10)));
+        assertEquals(List.of(3L), ids(searchIndex.search("inters", 10)));
+    }
+
+    @Test
+    void testFuzzyMatchToleratesOneTypo() {
+        assertEquals(List.of(3L), ids(searchIndex.search("intersteller", 10)));
+        assertEquals(List.of(1L, 2L), ids(searchIndex.search("knigt", 10)));
+        assertEquals(List.of(2L), ids(searchIndex.search("kni9ht rizes", 10)));
+    }
+
+    @Test
+    void testAccentsAndCaseAreIgnored() {
+        assertEquals(List.of(4L), ids(searchIndex.search("AMELIE", 10)));
+    }
+
+    @Test
+    void testAllWordsMustMatchAndLimitIsApplied() {
+        assertTrue(searchIndex.search("dark interstellar", 10).isEmpty());
+        assertEquals(List.of(1L), ids(searchIndex.search("the", 1)));
+        assertTrue(searchIndex.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    void testUpdatesAndDeletesAreReflected() {
+        searchIndex.index(movie(3L, "Tenet", 2020, 1L));
+        searchIndex.remove(1L);
+
+        assertTrue(searchIndex.search("interstellar", 10).isEmpty());
+        assertEquals(List.of(3L), ids(searchIndex.search("tenet", 10)));
+        assertEquals(List.of(2L), ids(searchIndex.search("knight", 10)));
+
+        searchIndex.removeByDirector(1L);
+
+        assertTrue(searchIndex.search("knight", 10).isEmpty());
+        assertEquals(2, searchIndex.size());
+    }
+
+    @Test
+    void testChangesInsideTransactionApplyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            searchIndex.index(movie(6L, "Oppenheimer", 2023, 1L));
+            searchIndex.remove(3L);
+
+            assertTrue(searchIndex.search("oppenheimer", 10).isEmpty());
+            assertEquals(List.of(3L), ids(searchIndex.search("interstellar", 10)));
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(6L), ids(searchIndex.search("oppenheimer", 10)));
+        assertTrue(searchIndex.search("interstellar", 10).isEmpty());
+    }
+
+    @Test
+    void testChangesInsideRolledBackTransactionAreDropped() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            searchIndex.index(movie(6L, "Oppenheimer", 2023, 1L));
+            searchIndex.removeByDirector(2L);
+
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(searchIndex.search("oppenheimer", 10).isEmpty());
+        assertEquals(List.of(4L), ids(searchIndex.search("amelie", 10)));
+    }
+
+    @Test
+    void testRebuildLoadsAllTitles() {
+        MovieTitleView view = mock(MovieTitleView.class);
+        when(view.getId()).thenReturn(10L);
+        when(view.getTitle()).thenReturn("Oppenheimer");
+        when(view.getYear()).thenReturn(2023);
+        when(movieRepository.streamAllTitles()).thenReturn(Stream.of(view));
+
+        searchIndex.afterSingletonsInstantiated();
+
+        assertEquals(1, searchIndex.size());
+        assertEquals("Oppenheimer", searchIndex.search("oppen", 10).get(0).getTitle());
+    }
+}
@@ -1,27 +1,36 @@
 package com.project.movieapi.springbootrestapi.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.project.movieapi.springbootrestapi.dto.email.EmailMessageDto;
+import com.project.movieapi.springbootrestapi.config.CacheConfig;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieBatchResponseDTO;
 import com.project.movieapi.springbootrestapi.dto.movie.MovieListRequestDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieResponseDTO;
 import com.project.movieapi.springbootrestapi.dto.movie.MovieRequestDTO;
 import com.project.movieapi.springbootrestapi.entity.Director;
 import com.project.movieapi.springbootrestapi.entity.Movie;
 import com.project.movieapi.springbootrestapi.exception.DirectorNotFoundException;
+import com.project.movieapi.springbootrestapi.exception.InvalidCursorException;
 import com.project.movieapi.springbootrestapi.exception.MovieNotFoundException;
-import com.project.movieapi.springbootrestapi.exception.UploadFailedException;
 import com.project.movieapi.springbootrestapi.repository.DirectorRepository;
 import com.project.movieapi.springbootrestapi.repository.MovieRepository;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
-import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,18 +40,22 @@ class MovieServiceTest {
 
     private MovieRepository movieRepository;
     private DirectorRepository directorRepository;
-    private RabbitTemplate rabbitTemplate;
+    private EntityManager entityManager;
+    private MovieSearchIndex searchIndex;
+    private NotificationOutbox notificationOutbox;
+    private CacheManager cacheManager;
     private MovieService movieService;
 
     @BeforeEach
     void setup() {
         movieRepository = mock(MovieRepository.class);
         directorRepository = mock(DirectorRepository.class);
-        rabbitTemplate = mock(RabbitTemplate.class);
-
-        ObjectMapper objectMapper = new ObjectMapper();
-
-        movieService = new MovieService(movieRepository, directorRepository, objectMapper, rabbitTemplate);
+        entityManager = mock(EntityManager.class);
+        searchIndex = mock(MovieSearchIndex.class);
+        notificationOutbox = mock(NotificationOutbox.class);
+        cacheManager = new ConcurrentMapCacheManager(CacheConfig.MOVIES);
+        movieService = new MovieService(movieRepository, directorRepository, entityManager, searchIndex, notificationOutbox,
+                new ObjectMapper(), cacheManager);
     }
 
     @Test
@@ -75,35 +88,7 @@ class MovieServiceTest {
         assertEquals("Sci-Fi", response.getGenre());
         assertEquals("Christopher Nolan", response.getDirector().getName());
 
-        verify(rabbitTemplate, times(1))
-                .convertAndSend(eq("email_queue"), any(EmailMessageDto.class));
-    }
-
-    @Test
-    void testCreateMovieWhenRabbitMqFails() {
-        MovieRequestDTO dto = new MovieRequestDTO();
-        dto.setTitle("Inception");
-        dto.setDirectorId(1L);
-
-        Director director = new Director();
-        director.setId(1L);
-        when(directorRepository.findById(1L)).thenReturn(Optional.of(director));
-
-        Movie saved = new Movie();
-        saved.setId(100L);
-        saved.setTitle("Inception");
-        saved.setDirector(director);
-        when(movieRepository.save(any(Movie.class))).thenReturn(saved);
-
-        doThrow(new RuntimeException("RabbitMQ is down"))
-                .when(rabbitTemplate).convertAndSend(anyString(), any(Object.class));
-
-        var response = movieService.create(dto);
-
-        assertNotNull(response);
-        assertEquals("Inception", response.getTitle());
-
-        verify(rabbitTemplate, times(1)).convertAndSend(anyString(), any(Object.class));
+        verify(notificationOutbox, times(1)).movieCreated(saved, "Christopher Nolan");
     }
 
     @Test
@@ -115,7 +100,7 @@ class MovieServiceTest {
 
         assertThrows(DirectorNotFoundException.class, () -> movieService.create(dto));
 
-        verifyNoInteractions(rabbitTemplate);
+        verifyNoInteractions(notificationOutbox);
     }
 
     @Test
@@ -131,7 +116,7 @@ class MovieServiceTest {
         movie.setGenre("Sci-Fi");
         movie.setDirector(director);
 
-        when(movieRepository.findById(10L)).thenReturn(Optional.of(movie));
+        when(movieRepository.findWithDirectorById(10L)).thenReturn(Optional.of(movie));
 
         var response = movieService.getById(10L);
 
@@ -143,7 +128,7 @@ class MovieServiceTest {
 
     @Test
     void testGetByIdNotFound() {
-        when(movieRepository.findById(99L)).thenReturn(Optional.empty());
+        when(movieRepository.findWithDirectorById(99L)).thenReturn(Optional.empty());
         assertThrows(MovieNotFoundException.class, () -> movieService.getById(99L));
     }
 
@@ -182,6 +167,7 @@ class MovieServiceTest {
 
         assertEquals("New Title", response.getTitle());
         assertEquals(2020, response.getYear());
+        verify(searchIndex, times(1)).index(any(Movie.class));
     }
 
     @Test
@@ -213,6 +199,7 @@ class MovieServiceTest {
         when(movieRepository.existsById(10L)).thenReturn(true);
         movieService.delete(10L);
         verify(movieRepository, times(1)).deleteById(10L);
+        verify(searchIndex, times(1)).remove(10L);
     }
 
     @Test
@@ -234,11 +221,11 @@ class MovieServiceTest {
         movie.setGenre("Sci-Fi");
         movie.setDirector(director);
 
-        when(movieRepository.findAll()).thenReturn(List.of(movie));
+        when(movieRepository.findAllWithDirector()).thenReturn(List.of(movie));
 
         var list = movieService.getAll();
         assertEquals(1, list.size());
-        assertEquals("Inception", list.getFirst().getTitle());
+        assertEquals("Inception", list.get(0).getTitle());
     }
 
     @Test
@@ -263,11 +250,68 @@ class MovieServiceTest {
 
         var response = movieService.list(filter);
         assertEquals(1, response.getList().size());
-        assertEquals("Inception", response.getList().getFirst().getTitle());
+        assertEquals("Inception", response.getList().get(0).getTitle());
+    }
+
+    @Test
+    void testListMoviesWithCursor() {
+        Director director = new Director();
+        director.setId(1L);
+
+        Movie first = new Movie();
+        first.setId(11L);
+        first.setTitle("Interstellar");
+        first.setYear(2014);
+        first.setDirector(director);
+
+        Movie second = new Movie();
+        second.setId(12L);
+        second.setTitle("Tenet");
+        second.setYear(2020);
+        second.setDirector(director);
+
+        Slice<Movie> slice = new SliceImpl<>(List.of(first, second), PageRequest.of(0, 2), true);
+        when(movieRepository.findSliceWithFilters(any(), any(), any(), eq(10L), any(Pageable.class))).thenReturn(slice);
+
+        MovieListRequestDTO filter = new MovieListRequestDTO();
+        filter.setSize(2);
+        filter.setAfter(Base64.getUrlEncoder().withoutPadding().encodeToString("10".getBytes()));
+
+        var response = movieService.list(filter);
+
+        assertEquals(2, response.getList().size());
+        assertNull(response.getTotalPages());
+        assertEquals("12", new String(Base64.getUrlDecoder().decode(response.getNextCursor())));
+        verify(movieRepository, never()).findAllWithFilters(any(), any(), any(), any(Pageable.class));
     }
 
     @Test
-    void testGenerateReport() {
+    void testListMoviesWithoutTotalOnLastPage() {
+        Slice<Movie> slice = new SliceImpl<>(List.of(), PageRequest.of(3, 10), false);
+        when(movieRepository.findSliceWithFilters(any(), any(), any(), isNull(), any(Pageable.class))).thenReturn(slice);
+
+        MovieListRequestDTO filter = new MovieListRequestDTO();
+        filter.setPage(3);
+        filter.setSize(10);
+        filter.setIncludeTotal(false);
+
+        var response = movieService.list(filter);
+
+        assertTrue(response.getList().isEmpty());
+        assertNull(response.getNextCursor());
+        assertNull(response.getTotalPages());
+    }
+
+    @Test
+    void testListMoviesInvalidCursor() {
+        MovieListRequestDTO filter = new MovieListRequestDTO();
+        filter.setAfter("not-a-cursor!");
+
+        assertThrows(InvalidCursorException.class, () -> movieService.list(filter));
+    }
+
+    @Test
+    void testGenerateReport() throws Exception {
         Director director = new Director();
         director.setId(1L);
         director.setName("Nolan");
@@ -279,57 +323,96 @@ class MovieServiceTest {
         movie.setGenre("Sci-Fi");
         movie.setDirector(director);
 
-        Page<Movie> page = new PageImpl<>(List.of(movie));
-        when(movieRepository.findAllWithFilters(any(), any(), any(), any(Pageable.class))).thenReturn(page);
+        Movie quoted = new Movie();
+        quoted.setId(11L);
+        quoted.setTitle("Batman, Begins");
+        quoted.setYear(2005);
+        quoted.setGenre("Action");
+        quoted.setDirector(director);
 
-        MovieListRequestDTO filter = new MovieListRequestDTO();
-        filter.setPage(0);
-        filter.setSize(10);
+        when(movieRepository.streamAllWithFilters(any(), any(), any())).thenReturn(Stream.of(movie, quoted));
 
-        byte[] report = movieService.generateReport(filter);
-        String csv = new String(report);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        movieService.writeReport(new MovieListRequestDTO(), out);
+        String csv = out.toString(StandardCharsets.UTF_8);
 
-        assertTrue(csv.contains("Inception"));
-        assertTrue(csv.contains("Nolan"));
+        assertTrue(csv.startsWith("Id,Title,Year,Genre,Director\r\n"));
+        assertTrue(csv.contains("10,Inception,2010,Sci-Fi,Nolan\r\n"));
+        assertTrue(csv.contains("11,\"Batman, Begins\",2005,Action,Nolan\r\n"));
     }
 
     @Test
-    void testUploadValidJson() {
-        String json = """
-                    [
-                      {"title":"Inception","year":2010,"genre":"Sci-Fi","directorId":1}
-                    ]
-                """;
+    void testWriteNdjson() throws Exception {
+        Director director = new Director();
+        director.setId(1L);
+        director.setName("Nolan");
+
+        Movie inception = new Movie();
+        inception.setId(10L);
+        inception.setTitle("Inception");
+        inception.setYear(2010);
+        inception.setGenre("Sci-Fi");
+        inception.setDirector(director);
+
+        Movie tenet = new Movie();
+        tenet.setId(11L);
+        tenet.setTitle("Tenet");
+        tenet.setYear(2020);
+        tenet.setGenre("Action");
+        tenet.setDirector(director);
+
+        when(movieRepository.streamAllWithFilters(null, null, null)).thenReturn(Stream.of(inception, tenet));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        movieService.writeNdjson(out);
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        ObjectMapper mapper = new ObjectMapper();
+        assertEquals("Inception", mapper.readTree(lines[0]).get("title").asText());
+        assertEquals("Nolan", mapper.readTree(lines[0]).get("director").get("name").asText());
+        assertEquals(11L, mapper.readTree(lines[1]).get("id").asLong());
+    }
 
+    @Test
+    void testGetByIdsUsesCacheAndOneQueryForTheRest() {
         Director director = new Director();
         director.setId(1L);
         director.setName("Nolan");
 
-        when(directorRepository.findById(1L)).thenReturn(Optional.of(director));
-        when(movieRepository.save(any(Movie.class))).thenAnswer(inv -> {
-            Movie m = inv.getArgument(0);
-            m.setId(100L);
-            return m;
-        });
+        Movie tenet = new Movie();
+        tenet.setId(11L);
+        tenet.setTitle("Tenet");
+        tenet.setYear(2020);
+        tenet.setGenre("Action");
+        tenet.setDirector(director);
 
-        ByteArrayInputStream inputStream = new ByteArrayInputStream(json.getBytes());
+        MovieResponseDTO cached = new MovieResponseDTO();
+        cached.setId(10L);
+        cached.setTitle("Inception");
+        cacheManager.getCache(CacheConfig.MOVIES).put(10L, cached);
 
-        Map<String, Object> result = movieService.upload(inputStream);
+        when(movieRepository.findAllWithDirectorByIdIn(List.of(11L, 12L))).thenReturn(List.of(tenet));
 
-        assertEquals(1, result.get("success"));
-        assertEquals(0, result.get("failed"));
+        MovieBatchResponseDTO response = movieService.getByIds(List.of(11L, 10L, 12L, 11L));
 
-        verify(rabbitTemplate, times(1)).convertAndSend(eq("email_queue"), any(EmailMessageDto.class));
+        assertEquals(List.of("Tenet", "Inception"), response.getMovies().stream().map(MovieResponseDTO::getTitle).toList());
+        assertEquals(List.of(12L), response.getMissing());
+        verify(movieRepository, times(1)).findAllWithDirectorByIdIn(any());
+        assertEquals("Tenet", cacheManager.getCache(CacheConfig.MOVIES).get(11L, MovieResponseDTO.class).getTitle());
     }
 
     @Test
-    void testUploadInvalidJson() {
-        String invalidJson = "{ \"invalid\": \"json\" }";
-
-        ByteArrayInputStream inputStream = new ByteArrayInputStream(invalidJson.getBytes());
+    void testGetByIdsSkipsQueryWhenAllCached() {
+        MovieResponseDTO cached = new MovieResponseDTO();
+        cached.setId(10L);
+        cacheManager.getCache(CacheConfig.MOVIES).put(10L, cached);
 
-        assertThrows(UploadFailedException.class, () -> movieService.upload(inputStream));
+        MovieBatchResponseDTO response = movieService.getByIds(List.of(10L));
 
-        verifyNoInteractions(rabbitTemplate);
+        assertEquals(1, response.getMovies().size());
+        assertTrue(response.getMissing().isEmpty());
+        verify(movieRepository, never()).findAllWithDirectorByIdIn(any());
     }
 }
\ No newline at end of file
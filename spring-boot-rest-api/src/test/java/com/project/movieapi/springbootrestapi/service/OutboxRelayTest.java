@@ -0,0 +1,80 @@
+package com.project.movieapi.springbootrestapi.service;
+
+import com.project.movieapi.springbootrestapi.dto.email.EmailMessageDto;
+import com.project.movieapi.springbootrestapi.entity.OutboxMessage;
+import com.project.movieapi.springbootrestapi.repository.OutboxMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.net.ConnectException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private OutboxMessageRepository outboxRepository;
+    private EmailNotificationPublisher publisher;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setup() {
+        outboxRepository = mock(OutboxMessageRepository.class);
+        publisher = mock(EmailNotificationPublisher.class);
+        relay = new OutboxRelay(outboxRepository, publisher, mock(PlatformTransactionManager.class), 2);
+    }
+
+    private List<OutboxMessage> messages(int count) {
+        List<OutboxMessage> messages = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            OutboxMessage message = new OutboxMessage();
+            message.setId((long) i);
+            message.setRecipient("admin@movieapi.com");
+            message.setSubject("New Movie Created");
+            message.setBody("Movie " + i);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    @Test
+    void testRelayPublishesAndDeletesBatchesUntilOutboxIsDrained() {
+        List<OutboxMessage> all = messages(3);
+        when(outboxRepository.lockOldest(any(Pageable.class)))
+                .thenReturn(all.subList(0, 2), all.subList(2, 3));
+
+        relay.relay();
+
+        verify(publisher, times(1)).publishAll(List.of(
+                new EmailMessageDto("admin@movieapi.com", "New Movie Created", "Movie 0"),
+                new EmailMessageDto("admin@movieapi.com", "New Movie Created", "Movie 1")));
+        verify(outboxRepository).deleteAllInBatch(all.subList(0, 2));
+        verify(outboxRepository).deleteAllInBatch(all.subList(2, 3));
+        verify(outboxRepository, times(2)).lockOldest(any(Pageable.class));
+    }
+
+    @Test
+    void testRelayKeepsMessagesWhenBrokerIsDown() {
+        when(outboxRepository.lockOldest(any(Pageable.class))).thenReturn(messages(2));
+        doThrow(new AmqpConnectException(new ConnectException("Connection refused"))).when(publisher).publishAll(anyList());
+
+        relay.relay();
+
+        verify(outboxRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void testRelayDoesNothingWhenOutboxIsEmpty() {
+        when(outboxRepository.lockOldest(any(Pageable.class))).thenReturn(List.of());
+
+        relay.relay();
+
+        verifyNoInteractions(publisher);
+    }
+}
@@ -0,0 +1,68 @@
+package com.project.movieapi.springbootrestapi.service;
+
+import com.project.movieapi.springbootrestapi.dto.movie.MovieListRequestDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieListResponseDTO;
+import com.project.movieapi.springbootrestapi.dto.movie.MovieResponseDTO;
+import com.project.movieapi.springbootrestapi.exception.MovieNotFoundException;
+import com.project.movieapi.springbootrestapi.util.IdCursor;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReactiveMovieReaderTest {
+
+    private ReactiveMovieReader reader;
+
+    @BeforeEach
+    void setup() {
+        DatabaseClient client = DatabaseClient.create(ConnectionFactories.get(
+                "r2dbc:h2:mem:///" + UUID.randomUUID() + "?options=DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR"));
+        Flux.just(
+                "CREATE TABLE directors (id BIGINT PRIMARY KEY, name VARCHAR(255), country VARCHAR(255))",
+                "CREATE TABLE movies (id BIGINT PRIMARY KEY, title VARCHAR(255), year INT, genre VARCHAR(255), director_id BIGINT)",
+                "INSERT INTO directors VALUES (1, 'Nolan', 'UK'), (2, 'Villeneuve', 'Canada')",
+                "INSERT INTO movies VALUES (1, 'Inception', 2010, 'Sci-Fi', 1), (2, 'Dune', 2021, 'Sci-Fi', 2), "
+                        + "(3, 'Tenet', 2020, 'Action', 1), (4, 'Arrival', 2016, 'Sci-Fi', 2)"
+        ).concatMap(sql -> client.sql(sql).then()).blockLast();
+        reader = new ReactiveMovieReader(client, 2);
+    }
+
+    @Test
+    void findAll_shouldStreamEveryMovieWithDirector_inIdOrder() {
+        List<MovieResponseDTO> movies = reader.findAll().collectList().block();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), movies.stream().map(MovieResponseDTO::getId).toList());
+        assertEquals("Nolan", movies.get(0).getDirector().getName());
+        assertEquals(2L, movies.get(1).getDirector().getId());
+    }
+
+    @Test
+    void findById_shouldFailWithNotFound_whenMissing() {
+        assertEquals("Tenet", reader.findById(3L).block().getTitle());
+        assertThrows(MovieNotFoundException.class, () -> reader.findById(99L).block());
+    }
+
+    @Test
+    void list_shouldApplyFiltersAndCursor() {
+        MovieListRequestDTO filter = new MovieListRequestDTO();
+        filter.setGenre("Sci-Fi");
+        filter.setAfter(IdCursor.encode(1L));
+
+        List<MovieListResponseDTO.MovieShortDTO> movies = reader.list(filter).collectList().block();
+
+        assertEquals(List.of("Dune", "Arrival"), movies.stream().map(MovieListResponseDTO.MovieShortDTO::getTitle).toList());
+    }
+
+    @Test
+    void findAllDirectors_shouldStreamDirectors() {
+        assertEquals(List.of("Nolan", "Villeneuve"),
+                reader.findAllDirectors().map(d -> d.getName()).collectList().block());
+    }
+}
@@ -0,0 +1,111 @@
+package com.project.movieapi.springbootrestapi.service;
+
+import com.project.movieapi.springbootrestapi.dto.movie.MovieUploadResponseDTO;
+import com.project.movieapi.springbootrestapi.exception.UploadFailedException;
+import com.project.movieapi.springbootrestapi.exception.UploadJobNotFoundException;
+import com.project.movieapi.springbootrestapi.exception.UploadRejectedException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UploadJobServiceTest {
+
+    @TempDir
+    Path spoolDir;
+
+    private final MovieImportService importService = mock(MovieImportService.class);
+
+    private UploadJobService service(TaskExecutor executor) {
+        return new UploadJobService(importService, executor, spoolDir, Duration.ofHours(1));
+    }
+
+    private MockMultipartFile file() {
+        return new MockMultipartFile("file", "movies.json", "application/json",
+                "[{\"title\":\"Inception\",\"year\":2010,\"genre\":\"Sci-Fi\",\"directorId\":1}]".getBytes());
+    }
+
+    @Test
+    void testJobCompletesAndReportsProgress() throws Exception {
+        when(importService.importMovies(any(InputStream.class), any())).thenAnswer(inv -> {
+            InputStream in = inv.getArgument(0);
+            in.readAllBytes();
+            MovieImportService.ProgressListener listener = inv.getArgument(1);
+            listener.onProgress(1, 1);
+
+            MovieUploadResponseDTO result = new MovieUploadResponseDTO();
+            result.setSuccess(1);
+            result.setFailed(1);
+            return result;
+        });
+
+        UploadJobService service = service(new SyncTaskExecutor());
+        var submitted = service.submit(file());
+        var status = service.getStatus(submitted.getJobId());
+
+        assertEquals("COMPLETED", status.getStatus());
+        assertEquals(2, status.getRowsProcessed());
+        assertEquals(1, status.getRowsFailed());
+        assertEquals(status.getTotalBytes(), status.getBytesRead());
+        assertEquals(0L, status.getEtaSeconds());
+        assertNotNull(status.getRowsPerSecond());
+        assertEquals(1, status.getResult().getSuccess());
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count(), "spool file should be removed after the import");
+        }
+    }
+
+    @Test
+    void testJobFailureIsReported() throws Exception {
+        when(importService.importMovies(any(InputStream.class), any()))
+                .thenThrow(new UploadFailedException("Expected JSON array"));
+
+        UploadJobService service = service(new SyncTaskExecutor());
+        var status = service.getStatus(service.submit(file()).getJobId());
+
+        assertEquals("FAILED", status.getStatus());
+        assertEquals("Expected JSON array", status.getError());
+    }
+
+    @Test
+    void testQueuedJobIsVisibleBeforeItRuns() throws Exception {
+        UploadJobService service = service(task -> {
+        });
+
+        var status = service.submit(file());
+
+        assertEquals("QUEUED", status.getStatus());
+        assertEquals("QUEUED", service.getStatus(status.getJobId()).getStatus());
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    void testRejectedWhenPoolIsFull() {
+        UploadJobService service = service(task -> {
+            throw new TaskRejectedException("full");
+        });
+
+        assertThrows(UploadRejectedException.class, () -> service.submit(file()));
+        try (var files = Files.list(spoolDir)) {
+            assertEquals(0, files.count());
+        } catch (Exception e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    void testUnknownJob() {
+        assertThrows(UploadJobNotFoundException.class, () -> service(new SyncTaskExecutor()).getStatus("missing"));
+    }
+}
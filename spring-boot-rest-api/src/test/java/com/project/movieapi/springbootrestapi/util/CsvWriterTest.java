@@ -0,0 +1,44 @@
+package com.project.movieapi.springbootrestapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvWriterTest {
+
+    private String write(Object... values) throws IOException {
+        StringWriter out = new StringWriter();
+        CsvWriter csv = new CsvWriter(out);
+        csv.writeRow(values);
+        csv.flush();
+        return out.toString();
+    }
+
+    @Test
+    void testPlainValues() throws IOException {
+        assertEquals("1,Inception,2010\r\n", write(1L, "Inception", 2010));
+    }
+
+    @Test
+    void testNullIsEmptyField() throws IOException {
+        assertEquals("1,,Sci-Fi\r\n", write(1L, null, "Sci-Fi"));
+    }
+
+    @Test
+    void testCommaIsQuoted() throws IOException {
+        assertEquals("\"Good, the Bad\"\r\n", write("Good, the Bad"));
+    }
+
+    @Test
+    void testQuotesAreDoubled() throws IOException {
+        assertEquals("\"The \"\"Kid\"\"\"\r\n", write("The \"Kid\""));
+    }
+
+    @Test
+    void testLineBreaksAndPaddingAreQuoted() throws IOException {
+        assertEquals("\"Line\nBreak\",\" padded\"\r\n", write("Line\nBreak", " padded"));
+    }
+}
@@ -21,6 +21,7 @@ export const searchMovies = (page, size, year, genre, directorId) => {
 };
 
 export const getMovieById = (id) => api.get(`/movies/${id}`);
+export const getMoviesByIds = (ids) => api.post("/movies/_batch", { ids });
 export const createMovie = (data) => api.post("/movies", data);
 export const updateMovie = (id, data) => api.put(`/movies/${id}`, data);
 export const deleteMovie = (id) => api.delete(`/movies/${id}`);